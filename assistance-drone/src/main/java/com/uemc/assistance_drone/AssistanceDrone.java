@@ -9,6 +9,7 @@ import com.uemc.assistance_drone.util.SiteMarkersRegister;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.fml.ModContainer;
 import net.neoforged.fml.common.Mod;
+import net.neoforged.fml.config.ModConfig;
 import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
 
 // The value here should match an entry in the META-INF/neoforge.mods.toml file
@@ -38,6 +39,9 @@ public class AssistanceDrone
         ModMenus.MENU_TYPES.register(modEventBus);
         ModSounds.SOUNDS.register(modEventBus);
         ModCriteriaTriggers.register(modEventBus);
+
+        // Register the server config so drone work limits can be tuned per world
+        modContainer.registerConfig(ModConfig.Type.SERVER, Config.SPEC);
     }
 
     private void commonSetup(final FMLCommonSetupEvent event) {}
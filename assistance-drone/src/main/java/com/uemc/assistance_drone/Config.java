@@ -0,0 +1,76 @@
+package com.uemc.assistance_drone;
+
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.fml.event.config.ModConfigEvent;
+import net.neoforged.neoforge.common.ModConfigSpec;
+
+/**
+ * Server configuration of the mod. Values are cached in static fields on
+ * load so hot paths never go through the config spec.
+ */
+@EventBusSubscriber(modid = AssistanceDrone.MODID)
+public class Config
+{
+    private static final ModConfigSpec.Builder BUILDER = new ModConfigSpec.Builder();
+
+    private static final ModConfigSpec.IntValue WORK_BUDGET_MICROS = BUILDER
+            .comment("Time in microseconds all drones together may spend on scheduled heavy work (scans, index builds) per server tick")
+            .defineInRange("workBudgetMicros", 2000, 100, 50000);
+
+    private static final ModConfigSpec.BooleanValue FORCE_SITE_CHUNKS = BUILDER
+            .comment("Keep the chunks of a site loaded while a drone still has mining work there, so quarries run with no player nearby")
+            .define("forceSiteChunks", false);
+
+    private static final ModConfigSpec.BooleanValue FAST_FORWARD_MINING = BUILDER
+            .comment("When a mining drone is loaded again, remove in bulk the blocks it would have mined while its chunk was unloaded")
+            .define("fastForwardMining", false);
+
+    private static final ModConfigSpec.IntValue FAST_FORWARD_MAX_BLOCKS = BUILDER
+            .comment("Most blocks a single drone may mine in one fast-forward catch-up")
+            .defineInRange("fastForwardMaxBlocks", 256, 1, 4096);
+
+    private static final ModConfigSpec.IntValue SEALANT_RESERVE = BUILDER
+            .comment("Sealant blocks a drone keeps for fluid handling when unloading its inventory into containers")
+            .defineInRange("sealantReserve", 16, 0, 208);
+
+    static final ModConfigSpec SPEC = BUILDER.build();
+
+    private static long workBudgetNanos = 2000L * 1000L;
+    private static boolean forceSiteChunks = false;
+    private static boolean fastForwardMining = false;
+    private static int fastForwardMaxBlocks = 256;
+    private static int sealantReserve = 16;
+
+    public static long getWorkBudgetNanos() {
+        return workBudgetNanos;
+    }
+
+    public static boolean isForceSiteChunks() {
+        return forceSiteChunks;
+    }
+
+    public static boolean isFastForwardMining() {
+        return fastForwardMining;
+    }
+
+    public static int getFastForwardMaxBlocks() {
+        return fastForwardMaxBlocks;
+    }
+
+    public static int getSealantReserve() {
+        return sealantReserve;
+    }
+
+    @SubscribeEvent
+    static void onLoad(final ModConfigEvent event)
+    {
+        if (event.getConfig().getSpec() != SPEC) return;
+
+        workBudgetNanos = WORK_BUDGET_MICROS.get() * 1000L;
+        forceSiteChunks = FORCE_SITE_CHUNKS.get();
+        fastForwardMining = FAST_FORWARD_MINING.get();
+        fastForwardMaxBlocks = FAST_FORWARD_MAX_BLOCKS.get();
+        sealantReserve = SEALANT_RESERVE.get();
+    }
+}
@@ -0,0 +1,143 @@
+package com.uemc.assistance_drone.commands;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.uemc.assistance_drone.AssistanceDrone;
+import com.uemc.assistance_drone.entities.ModEntities;
+import com.uemc.assistance_drone.entities.drone.DroneEntity;
+import com.uemc.assistance_drone.entities.drone.ReachabilityCache;
+import com.uemc.assistance_drone.entities.drone.pathing.DronePathPlanner;
+import com.uemc.assistance_drone.entities.drone.pathing.FlightPathSearch;
+import com.uemc.assistance_drone.site.SiteRuntime;
+import com.uemc.assistance_drone.site.SiteRuntimeCache;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.pathfinder.Path;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
+
+import java.util.Collection;
+
+/**
+ * Operator-only diagnostics.
+ * <p>
+ * {@code /assistance_drone pathbench <from> <to> [iterations]} plans the
+ * same route with vanilla {@code FlyingPathNavigation} (through a drone that
+ * is never added to the world) and with the drone planner, and reports the
+ * average time per path. Both run on the server thread so the numbers are
+ * comparable; the drone planner time includes taking the section snapshot.
+ * <p>
+ * {@code /assistance_drone reachstats} lists the reachability cache of every
+ * site runtime in the current level: hits, misses, hit rate and entries. Each
+ * hit is a path search a drone did not have to run.
+ */
+@EventBusSubscriber(modid = AssistanceDrone.MODID)
+public class DroneDebugCommands {
+
+    private static final int DEFAULT_ITERATIONS = 20;
+    private static final int MAX_ITERATIONS = 1000;
+    private static final int REACH = 1;
+
+    @SubscribeEvent
+    public static void onRegisterCommands(RegisterCommandsEvent event) {
+        register(event.getDispatcher());
+    }
+
+    private static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal(AssistanceDrone.MODID)
+                .requires(source -> source.hasPermission(Commands.LEVEL_GAMEMASTERS))
+                .then(Commands.literal("pathbench")
+                        .then(Commands.argument("from", BlockPosArgument.blockPos())
+                                .then(Commands.argument("to", BlockPosArgument.blockPos())
+                                        .executes(ctx -> pathBench(ctx.getSource(),
+                                                BlockPosArgument.getLoadedBlockPos(ctx, "from"),
+                                                BlockPosArgument.getLoadedBlockPos(ctx, "to"),
+                                                DEFAULT_ITERATIONS))
+                                        .then(Commands.argument("iterations", IntegerArgumentType.integer(1, MAX_ITERATIONS))
+                                                .executes(ctx -> pathBench(ctx.getSource(),
+                                                        BlockPosArgument.getLoadedBlockPos(ctx, "from"),
+                                                        BlockPosArgument.getLoadedBlockPos(ctx, "to"),
+                                                        IntegerArgumentType.getInteger(ctx, "iterations")))))))
+                .then(Commands.literal("reachstats")
+                        .executes(ctx -> reachStats(ctx.getSource()))));
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Path benchmark                                               */
+    /* ------------------------------------------------------------ */
+
+    private static int pathBench(CommandSourceStack source, BlockPos from, BlockPos to, int iterations) {
+        ServerLevel level = source.getLevel();
+
+        DroneEntity probe = ModEntities.DRONE_ENTITY_TYPE.get().create(level);
+        if (probe == null) return 0;
+        probe.moveTo(from.getX() + 0.5, from.getY(), from.getZ() + 0.5, 0.0F, 0.0F);
+
+        // Warm up both planners once so class loading is not measured
+        probe.getNavigation().createPath(to, REACH);
+        DronePathPlanner.planNow(level, from, to, REACH);
+
+        Path vanillaPath = null;
+        long vanillaNanos = 0L;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            vanillaPath = probe.getNavigation().createPath(to, REACH);
+            vanillaNanos += System.nanoTime() - start;
+        }
+
+        FlightPathSearch.Result droneResult = FlightPathSearch.Result.NONE;
+        long droneNanos = 0L;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            droneResult = DronePathPlanner.planNow(level, from, to, REACH);
+            droneNanos += System.nanoTime() - start;
+        }
+
+        probe.discard();
+
+        String vanilla = vanillaPath == null
+                ? "no path"
+                : String.format("%d nodes, %s", vanillaPath.getNodeCount(), vanillaPath.canReach() ? "reached" : "partial");
+        String drone = droneResult.nodes().isEmpty()
+                ? "no path"
+                : String.format("%d nodes, %d visited, %s", droneResult.nodes().size(), droneResult.visited(),
+                        droneResult.reached() ? "reached" : "partial");
+
+        long vanillaMicros = vanillaNanos / iterations / 1000L;
+        long droneMicros = droneNanos / iterations / 1000L;
+
+        source.sendSuccess(() -> Component.literal(String.format(
+                "pathbench x%d: vanilla %d us (%s) | drone %d us (%s)",
+                iterations, vanillaMicros, vanilla, droneMicros, drone)), false);
+        return 1;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Reachability statistics                                      */
+    /* ------------------------------------------------------------ */
+
+    private static int reachStats(CommandSourceStack source) {
+        Collection<SiteRuntime> runtimes = SiteRuntimeCache.getRuntimes(source.getLevel());
+        if (runtimes.isEmpty()) {
+            source.sendFailure(Component.literal("reachstats: no site runtime in this level"));
+            return 0;
+        }
+
+        for (SiteRuntime runtime : runtimes) {
+            ReachabilityCache cache = runtime.getReachability();
+            BlockPos start = runtime.getBounds().start();
+            BlockPos end = runtime.getBounds().end();
+
+            source.sendSuccess(() -> Component.literal(String.format(
+                    "reachstats %s -> %s: %d hits / %d misses (%.1f%%), %d entries",
+                    start.toShortString(), end.toShortString(),
+                    cache.getHits(), cache.getMisses(), cache.getHitRate() * 100.0, cache.size())), false);
+        }
+        return runtimes.size();
+    }
+}
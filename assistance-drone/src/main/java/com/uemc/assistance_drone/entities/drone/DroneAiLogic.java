@@ -1,5 +1,18 @@
 package com.uemc.assistance_drone.entities.drone;
 
+import com.uemc.assistance_drone.Config;
+import com.uemc.assistance_drone.entities.drone.pathing.DronePathPlanner;
+import com.uemc.assistance_drone.entities.drone.pathing.FlightPathSearch;
+import com.uemc.assistance_drone.entities.drone.pathing.PathRequest;
+import com.uemc.assistance_drone.items.SitePlanner;
+import com.uemc.assistance_drone.scheduler.DroneWorkScheduler;
+import com.uemc.assistance_drone.scheduler.WorkUnit;
+import com.uemc.assistance_drone.site.SiteBounds;
+import com.uemc.assistance_drone.site.SiteJob;
+import com.uemc.assistance_drone.site.SiteJobRegistry;
+import com.uemc.assistance_drone.site.SiteRuntime;
+import com.uemc.assistance_drone.site.SiteRuntimeCache;
+import com.uemc.assistance_drone.site.SpiralCursor;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.server.level.ServerLevel;
@@ -10,8 +23,8 @@ import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
 import net.minecraft.world.item.context.BlockPlaceContext;
+import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.ClipContext;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
@@ -24,11 +37,14 @@ import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
-import net.neoforged.neoforge.items.ItemHandlerHelper;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Central logic component for drone AI operations.
@@ -47,6 +63,22 @@ public class DroneAiLogic {
     private static final double INTERACT_RANGE_SQR = 4.0;
     private static final double MIN_ALTITUDE_OFFSET = 1.5;
 
+    /* Asynchronous path planning */
+    private static final int MAX_PENDING_CHECKS = 4;
+    private static final long PENDING_CHECK_TIMEOUT_TICKS = 100L;
+    private static final long REPLAN_INTERVAL_TICKS = 10L;
+    /* The no-site reachability cache sees no block updates, so its answers expire quickly instead */
+    private static final long LOCAL_REACHABILITY_TTL_TICKS = 20L;
+
+    /* Soft blocks are mined in (2r+1)x(2r+1) patches around the target */
+    private static final int PATCH_RADIUS = 1;
+
+    /* Flight time charged per block when catching up on unloaded time */
+    private static final int FAST_FORWARD_FLIGHT_TICKS = 5;
+    /* Cells looked at and blocks broken per scheduler step of the catch-up */
+    private static final int FAST_FORWARD_CELLS_PER_STEP = 64;
+    private static final int FAST_FORWARD_BREAKS_PER_STEP = 4;
+
     /* ------------------------------------------------------------ */
     /* State                                                        */
     /* ------------------------------------------------------------ */
@@ -63,10 +95,27 @@ public class DroneAiLogic {
     private ItemStack cachedBestTool = ItemStack.EMPTY;
     private int lastHasteAmplifier = -1;
 
-    private final Map<BlockPos, CachedReachability> accessibilityCache = new HashMap<>();
-    private BlockPos lastDronePos = null;
+    /* Extra blocks broken together with currentMiningPos in batched mode */
+    private final List<BlockPos> currentPatch = new ArrayList<>();
+    private final List<BlockState> currentPatchStates = new ArrayList<>();
+    private float cachedPatchHardness = 0.0F;
+
+    /* Fallback for drones without a configured site */
+    private final ReachabilityCache localReachability = new ReachabilityCache(LOCAL_REACHABILITY_TTL_TICKS);
+
+    private SiteJob cachedJob = null;
+    private SiteRuntime cachedSite = null;
+
+    /* Reachability searches in flight, by target */
+    private final Map<BlockPos, PathRequest> pendingChecks = new HashMap<>();
+
+    /* Path planned for executeMovement */
+    private BlockPos movementGoal = null;
+    private PathRequest movementRequest = null;
+    private long nextReplanTick = 0L;
 
-    private record CachedReachability(long expiryTick, boolean reachable) {}
+    /* Offline catch-up in progress, see fastForwardMining */
+    private FastForwardUnit fastForward = null;
 
     public DroneAiLogic(DroneEntity drone) {
         this.drone = drone;
@@ -80,18 +129,18 @@ public class DroneAiLogic {
      * Moves the drone towards a target position.
      * <p>
      * Uses direct movement when the target is close and visible,
-     * otherwise falls back to pathfinding.
+     * otherwise follows a path planned off-thread by {@link DronePathPlanner}.
+     * The drone hovers in place while the path is being computed.
      */
     public void executeMovement(Vec3 targetPos) {
         if (targetPos == null) return;
 
-        updateAccessibilityCacheIfMoved();
-
         double distSqr = drone.position().distanceToSqr(targetPos);
 
         if (distSqr > MOVEMENT_THRESHOLD_SQR && !canSeeTarget(targetPos)) {
-            drone.getNavigation().moveTo(targetPos.x, targetPos.y, targetPos.z, 1.0);
+            moveAlongPlannedPath(targetPos);
         } else {
+            clearMovementPlan();
             drone.getNavigation().stop();
             drone.getMoveControl().setWantedPosition(
                     targetPos.x, targetPos.y, targetPos.z, 1.0
@@ -99,16 +148,60 @@ public class DroneAiLogic {
         }
     }
 
-    private void updateAccessibilityCacheIfMoved() {
-        BlockPos currentPos = drone.blockPosition();
-        if (lastDronePos == null || !lastDronePos.equals(currentPos)) {
-            if (lastDronePos != null && lastDronePos.distManhattan(currentPos) > 1) {
-                accessibilityCache.clear();
+    /**
+     * Holds the current position. Used while waiting for an asynchronous
+     * path or reachability answer.
+     */
+    public void hover() {
+        drone.getNavigation().stop();
+        drone.getMoveControl().setWantedPosition(drone.getX(), drone.getY(), drone.getZ(), 1.0);
+    }
+
+    private void moveAlongPlannedPath(Vec3 targetPos) {
+        if (!(drone.level() instanceof ServerLevel serverLevel)) return;
+
+        BlockPos goal = BlockPos.containing(targetPos);
+        long now = serverLevel.getGameTime();
+
+        if (!goal.equals(movementGoal)) {
+            clearMovementPlan();
+            movementGoal = goal;
+        } else if (movementRequest == null && !drone.getNavigation().isDone()) {
+            return; // following the delivered path
+        }
+
+        if (movementRequest == null) {
+            if (now < nextReplanTick) {
+                hover();
+                return;
             }
-            lastDronePos = currentPos;
+            movementRequest = DronePathPlanner.request(
+                    serverLevel, drone.getWorkOwner(), drone.blockPosition(), goal, 1);
+        }
+
+        if (!movementRequest.isDone()) {
+            hover();
+            return;
+        }
+
+        Path path = movementRequest.toPath();
+        movementRequest = null;
+        nextReplanTick = now + REPLAN_INTERVAL_TICKS;
+
+        if (path == null || !drone.getNavigation().moveTo(path, 1.0)) {
+            hover();
         }
     }
 
+    private void clearMovementPlan() {
+        if (movementRequest != null) {
+            movementRequest.cancel();
+            movementRequest = null;
+        }
+        movementGoal = null;
+        nextReplanTick = 0L;
+    }
+
     private boolean canSeeTarget(Vec3 target) {
         BlockHitResult result = drone.level().clip(new ClipContext(
                 drone.position(),
@@ -165,6 +258,73 @@ public class DroneAiLogic {
         return drone.level().getMinBuildHeight();
     }
 
+    /* ------------------------------------------------------------ */
+    /* Site                                                         */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Resolves the persistent job of the Site Planner in slot 0.
+     * <p>
+     * The result is memoized while the planner keeps its site id and bounds,
+     * so goals can call this every tick.
+     *
+     * @return the job, or {@code null} on the client or without a configured planner
+     */
+    @Nullable
+    public SiteJob getSiteJob() {
+        if (!(drone.level() instanceof ServerLevel serverLevel)) return null;
+
+        ItemStack planner = drone.getInventory().getStackInSlot(0);
+        if (!SitePlanner.isConfigured(planner)) {
+            cachedJob = null;
+            return null;
+        }
+
+        long now = serverLevel.getGameTime();
+        UUID id = SitePlanner.getSiteId(planner);
+
+        if (cachedJob != null && cachedJob.getId().equals(id)) {
+            SiteBounds bounds = cachedJob.getBounds();
+            if (bounds.start().equals(SitePlanner.getStartPos(planner))
+                    && bounds.end().equals(SitePlanner.getEndPos(planner))) {
+                cachedJob.touch(now);
+                return cachedJob;
+            }
+        }
+
+        cachedJob = SiteJobRegistry.get(serverLevel).resolve(planner, now);
+        if (id == null) {
+            // The planner was just given an id
+            drone.getInventory().refreshSlot(0);
+        }
+        return cachedJob;
+    }
+
+    /**
+     * Resolves the shared runtime of the Site Planner in slot 0.
+     * <p>
+     * The result is memoized while the job bounds stay the same and the
+     * runtime has not been evicted, so goals can call this every tick.
+     *
+     * @return the runtime, or {@code null} on the client or without a configured planner
+     */
+    @Nullable
+    public SiteRuntime getSite() {
+        SiteJob job = getSiteJob();
+        if (job == null) {
+            cachedSite = null;
+            return null;
+        }
+
+        if (cachedSite != null && cachedSite.isAttached() && cachedSite.getBounds().equals(job.getBounds())) {
+            cachedSite.touch();
+            return cachedSite;
+        }
+
+        cachedSite = SiteRuntimeCache.get((ServerLevel) drone.level(), job.getBounds());
+        return cachedSite;
+    }
+
     /* ------------------------------------------------------------ */
     /* Accessibility                                                */
     /* ------------------------------------------------------------ */
@@ -190,28 +350,87 @@ public class DroneAiLogic {
 
     /**
      * Determines whether a block can be reached by the drone.
-     * <p>
-     * Uses a time-based cache to avoid repeated pathfinding queries.
+     * A target whose answer is still {@link Reachability#PENDING} counts as
+     * not accessible yet.
+     *
+     * @see #checkReachability(BlockPos)
      */
     public boolean isBlockAccessible(BlockPos pos) {
-        if (drone.blockPosition().distManhattan(pos) <= 1) {
-            return true;
+        return checkReachability(pos) == Reachability.REACHABLE;
+    }
+
+    /**
+     * Determines whether a block can be reached by the drone.
+     * <p>
+     * Answers are memoized in a {@link ReachabilityCache}, shared with the
+     * other drones of the site when one is configured. A direct line of sight
+     * is answered immediately; otherwise a path search is issued through
+     * {@link DronePathPlanner} and {@link Reachability#PENDING} is returned
+     * until it completes. At most {@value #MAX_PENDING_CHECKS} searches per
+     * drone are in flight.
+     */
+    public Reachability checkReachability(BlockPos pos) {
+        BlockPos dronePos = drone.blockPosition();
+        if (dronePos.distManhattan(pos) <= 1) {
+            return Reachability.REACHABLE;
         }
 
+        ReachabilityCache cache = getReachabilityCache();
         long tick = drone.level().getGameTime();
-        CachedReachability cached = accessibilityCache.get(pos);
 
-        if (cached != null && tick < cached.expiryTick) {
-            return cached.reachable;
+        drainFinishedChecks(cache, tick);
+
+        Boolean cached = cache.get(pos, dronePos, tick);
+        if (cached != null) {
+            return cached ? Reachability.REACHABLE : Reachability.UNREACHABLE;
         }
 
-        boolean reachable = performAccessibilityCheck(pos);
-        accessibilityCache.remove(pos);
+        if (pendingChecks.containsKey(pos)) {
+            return Reachability.PENDING;
+        }
 
-        return reachable;
+        if (hasDirectLineTo(pos)) {
+            cache.put(pos, dronePos, true, tick);
+            return Reachability.REACHABLE;
+        }
+
+        if (pendingChecks.size() < MAX_PENDING_CHECKS
+                && drone.level() instanceof ServerLevel serverLevel) {
+            BlockPos target = pos.immutable();
+            pendingChecks.put(target, DronePathPlanner.request(
+                    serverLevel, drone.getWorkOwner(), dronePos, target, 1));
+        }
+        return Reachability.PENDING;
     }
 
-    private boolean performAccessibilityCheck(BlockPos pos) {
+    public ReachabilityCache getReachabilityCache() {
+        SiteRuntime site = getSite();
+        return site != null ? site.getReachability() : localReachability;
+    }
+
+    /**
+     * Moves completed searches into the cache, keyed by the position the
+     * drone had when each was issued, and drops stale ones.
+     */
+    private void drainFinishedChecks(ReachabilityCache cache, long tick) {
+        if (pendingChecks.isEmpty()) return;
+
+        Iterator<PathRequest> it = pendingChecks.values().iterator();
+        while (it.hasNext()) {
+            PathRequest request = it.next();
+
+            if (request.isDone()) {
+                FlightPathSearch.Result result = request.getResult();
+                cache.put(request.getTarget(), request.getFrom(), result.reached(), tick, result.nodes());
+                it.remove();
+            } else if (tick - request.getCreatedTick() > PENDING_CHECK_TIMEOUT_TICKS) {
+                request.cancel();
+                it.remove();
+            }
+        }
+    }
+
+    private boolean hasDirectLineTo(BlockPos pos) {
         Vec3 center = Vec3.atCenterOf(pos);
 
         BlockHitResult result = drone.level().clip(new ClipContext(
@@ -222,12 +441,7 @@ public class DroneAiLogic {
                 drone
         ));
 
-        if (result.getType() == HitResult.Type.MISS || result.getBlockPos().equals(pos)) {
-            return true;
-        }
-
-        Path path = drone.getNavigation().createPath(pos, 1);
-        return path != null && path.canReach();
+        return result.getType() == HitResult.Type.MISS || result.getBlockPos().equals(pos);
     }
 
     /* ------------------------------------------------------------ */
@@ -240,6 +454,22 @@ public class DroneAiLogic {
      * @return {@code true} if the block was fully mined this tick
      */
     public boolean mineBlock(BlockPos pos) {
+        return mineBlock(pos, null);
+    }
+
+    /**
+     * Mines a block progressively, applying tool efficiency and Haste effects.
+     * <p>
+     * When {@code patchArea} is given and the target is a soft shovel block,
+     * the surrounding cells of the same layer that are equally soft and lie
+     * inside {@code patchArea} are broken together with it. The patch takes as
+     * long as its hardest block, shows a single crack overlay and its loot is
+     * merged before being stored.
+     *
+     * @param patchArea area batched mining may extend into, or {@code null} to mine a single block
+     * @return {@code true} if the block was fully mined this tick
+     */
+    public boolean mineBlock(BlockPos pos, @Nullable SiteBounds patchArea) {
         Level level = drone.level();
         BlockState state = level.getBlockState(pos);
 
@@ -248,7 +478,8 @@ public class DroneAiLogic {
             return true;
         }
 
-        updateMiningCacheIfNeeded(pos, state);
+        updateMiningCacheIfNeeded(pos, state, patchArea);
+        renewPatchLeases();
 
         float damage = cachedToolSpeed / cachedBlockHardness / 30.0F;
         currentDestroyProgress += damage;
@@ -257,7 +488,11 @@ public class DroneAiLogic {
         playMiningSounds(level, pos, state);
 
         if (currentDestroyProgress >= 1.0F) {
-            breakAndDrop(level, pos, state, cachedBestTool);
+            if (currentPatch.isEmpty()) {
+                breakAndDrop(level, pos, state, cachedBestTool);
+            } else {
+                breakPatch(level, pos, state, cachedBestTool);
+            }
             resetMiningState();
             return true;
         }
@@ -265,7 +500,7 @@ public class DroneAiLogic {
         return false;
     }
 
-    private void updateMiningCacheIfNeeded(BlockPos pos, BlockState state) {
+    private void updateMiningCacheIfNeeded(BlockPos pos, BlockState state, @Nullable SiteBounds patchArea) {
         int haste = getHasteAmplifier();
         boolean buffsChanged = haste != lastHasteAmplifier;
         boolean targetChanged = currentMiningPos == null
@@ -275,6 +510,9 @@ public class DroneAiLogic {
         if (targetChanged || buffsChanged) {
             if (targetChanged) {
                 resetMiningState();
+                if (patchArea != null) {
+                    collectPatch(drone.level(), pos, state, patchArea);
+                }
             }
 
             currentMiningPos = pos;
@@ -286,17 +524,26 @@ public class DroneAiLogic {
     }
 
     private void recalculateMiningSpeed(BlockState state, int hasteAmplifier) {
-        cachedBestTool = getBestTool(state);
-        cachedBlockHardness = state.getDestroySpeed(drone.level(), currentMiningPos);
-        cachedToolSpeed = cachedBestTool.getDestroySpeed(state);
+        MiningProfiles.Profile profile = MiningProfiles.get(state);
+        cachedBestTool = profile.tool();
+        cachedBlockHardness = Math.max(profile.hardness(), cachedPatchHardness);
+        cachedToolSpeed = effectiveToolSpeed(profile, hasteAmplifier);
+    }
+
+    private static float effectiveToolSpeed(MiningProfiles.Profile profile, int hasteAmplifier) {
+        float speed = profile.toolSpeed();
 
         if (hasteAmplifier >= 0) {
-            cachedToolSpeed *= 1.0F + (hasteAmplifier + 1) * 0.2F;
+            speed *= 1.0F + (hasteAmplifier + 1) * 0.2F;
         }
 
-        if (cachedToolSpeed < 1.0F) {
-            cachedToolSpeed = 1.0F;
-        }
+        return Math.max(speed, 1.0F);
+    }
+
+    /** Ticks {@link #mineBlock} needs for a single block of this profile. */
+    private static int ticksToMine(MiningProfiles.Profile profile, int hasteAmplifier) {
+        float damage = effectiveToolSpeed(profile, hasteAmplifier) / profile.hardness() / 30.0F;
+        return damage >= 1.0F ? 1 : (int) Math.ceil(1.0F / damage);
     }
 
     private void updateMiningVisuals(Level level, BlockPos pos, float damage) {
@@ -331,47 +578,327 @@ public class DroneAiLogic {
         if (currentMiningPos != null) {
             drone.level().destroyBlockProgress(drone.getId(), currentMiningPos, -1);
         }
+        releasePatchLeases();
         currentDestroyProgress = 0.0F;
         miningSoundCooldown = 0;
         currentMiningPos = null;
         currentMiningState = null;
+        currentPatch.clear();
+        currentPatchStates.clear();
+        cachedPatchHardness = 0.0F;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Batched mining                                               */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Gathers the cells of the patch centred on {@code center}. Only
+     * batchable states mined with the same tool as the centre qualify, so the
+     * whole patch shares one speed and one loot tool. Every patch cell is
+     * leased like the centre, so two drones never batch the same cell; the
+     * leases are renewed while mining and released with the mining state.
+     */
+    private void collectPatch(Level level, BlockPos center, BlockState centerState, SiteBounds area) {
+        MiningProfiles.Profile centerProfile = MiningProfiles.get(centerState);
+        if (!centerProfile.batchable()) return;
+
+        SiteRuntime site = getSite();
+        long now = level.getGameTime();
+
+        for (int dx = -PATCH_RADIUS; dx <= PATCH_RADIUS; dx++) {
+            for (int dz = -PATCH_RADIUS; dz <= PATCH_RADIUS; dz++) {
+                if (dx == 0 && dz == 0) continue;
+
+                BlockPos pos = center.offset(dx, 0, dz);
+                if (!area.contains(pos)) continue;
+                BlockState state = level.getBlockState(pos);
+                if (!isMinable(level, pos, state)) continue;
+
+                MiningProfiles.Profile profile = MiningProfiles.get(state);
+                if (!profile.batchable() || profile.tool() != centerProfile.tool()) continue;
+
+                // Cells another drone is working stay with that drone
+                if (site != null && !site.getLeases().tryAcquire(pos, drone.getUUID(), now)) continue;
+
+                currentPatch.add(pos);
+                currentPatchStates.add(state);
+                cachedPatchHardness = Math.max(cachedPatchHardness, state.getDestroySpeed(level, pos));
+            }
+        }
+    }
+
+    /** Keeps the patch leases alive; cells whose lease was lost leave the patch. */
+    private void renewPatchLeases() {
+        if (currentPatch.isEmpty()) return;
+
+        SiteRuntime site = getSite();
+        if (site == null) return;
+
+        long now = drone.level().getGameTime();
+        for (int i = currentPatch.size() - 1; i >= 0; i--) {
+            if (!site.getLeases().tryAcquire(currentPatch.get(i), drone.getUUID(), now)) {
+                currentPatch.remove(i);
+                currentPatchStates.remove(i);
+            }
+        }
+    }
+
+    private void releasePatchLeases() {
+        if (currentPatch.isEmpty()) return;
+
+        SiteRuntime site = getSite();
+        if (site == null) return;
+
+        for (BlockPos pos : currentPatch) {
+            site.getLeases().release(pos, drone.getUUID());
+        }
+    }
+
+    /**
+     * Breaks the centre block and every patch cell that still holds the
+     * block it held when mining started, then stores the merged loot once.
+     */
+    private void breakPatch(Level level, BlockPos center, BlockState centerState, ItemStack tool) {
+        if (!(level instanceof ServerLevel serverLevel)) return;
+
+        List<ItemStack> loot = new ArrayList<>();
+        collectDrops(serverLevel, center, centerState, tool, loot);
+        level.destroyBlock(center, false);
+
+        for (int i = 0; i < currentPatch.size(); i++) {
+            BlockPos pos = currentPatch.get(i);
+            BlockState state = level.getBlockState(pos);
+            if (!state.is(currentPatchStates.get(i).getBlock())) continue;
+
+            collectDrops(serverLevel, pos, state, tool, loot);
+            level.destroyBlock(pos, false);
+        }
+
+        storeOrPop(level, center, loot);
+    }
+
+    private void collectDrops(ServerLevel level, BlockPos pos, BlockState state,
+                              ItemStack tool, List<ItemStack> into) {
+        LootParams.Builder params = new LootParams.Builder(level)
+                .withParameter(LootContextParams.ORIGIN, Vec3.atCenterOf(pos))
+                .withParameter(LootContextParams.TOOL, tool)
+                .withOptionalParameter(LootContextParams.THIS_ENTITY, drone);
+
+        for (ItemStack drop : state.getDrops(params)) {
+            mergeDrop(into, drop);
+        }
+    }
+
+    /**
+     * Stores merged drops, popping whatever does not fit at {@code pos}.
+     */
+    private void storeOrPop(Level level, BlockPos pos, List<ItemStack> drops) {
+        for (ItemStack drop : drops) {
+            ItemStack remaining = itemStore(drop);
+            if (!remaining.isEmpty()) {
+                Block.popResource(level, pos, remaining);
+            }
+        }
+    }
+
+    // Stacks may exceed their max size; insertion splits them as needed
+    private static void mergeDrop(List<ItemStack> pending, ItemStack drop) {
+        for (ItemStack stack : pending) {
+            if (ItemStack.isSameItemSameComponents(stack, drop)) {
+                stack.grow(drop.getCount());
+                return;
+            }
+        }
+        pending.add(drop);
     }
 
     private void breakAndDrop(Level level, BlockPos pos, BlockState state, ItemStack tool) {
         if (level instanceof ServerLevel serverLevel) {
-            LootParams.Builder params = new LootParams.Builder(serverLevel)
-                    .withParameter(LootContextParams.ORIGIN, Vec3.atCenterOf(pos))
-                    .withParameter(LootContextParams.TOOL, tool)
-                    .withOptionalParameter(LootContextParams.THIS_ENTITY, drone);
-
-            List<ItemStack> drops = state.getDrops(params);
-            for (ItemStack drop : drops) {
-                ItemStack remaining = itemStore(drop);
-                if (!remaining.isEmpty()) {
-                    Block.popResource(level, pos, remaining);
-                }
-            }
+            List<ItemStack> drops = new ArrayList<>();
+            collectDrops(serverLevel, pos, state, tool, drops);
+            storeOrPop(level, pos, drops);
 
             level.destroyBlock(pos, false);
             level.levelEvent(2001, pos, Block.getId(state));
         }
     }
 
-    private ItemStack getBestTool(BlockState state) {
-        ItemStack pick = Items.IRON_PICKAXE.getDefaultInstance();
-        ItemStack axe = Items.IRON_AXE.getDefaultInstance();
-        ItemStack shovel = Items.IRON_SHOVEL.getDefaultInstance();
-        ItemStack hoe = Items.IRON_HOE.getDefaultInstance();
+    /* ------------------------------------------------------------ */
+    /* Offline catch-up                                             */
+    /* ------------------------------------------------------------ */
 
-        float p = pick.getDestroySpeed(state);
-        float a = axe.getDestroySpeed(state);
-        float s = shovel.getDestroySpeed(state);
-        float h = hoe.getDestroySpeed(state);
+    /**
+     * Queues the mining the drone would have done while its chunk was
+     * unloaded for {@code elapsedTicks}. The work runs through the
+     * {@link DroneWorkScheduler} a few cells per step; the mining goal stays
+     * idle meanwhile, see {@link #isFastForwarding()}.
+     *
+     * @return {@code true} if a catch-up was queued
+     */
+    public boolean fastForwardMining(long elapsedTicks) {
+        if (!(drone.level() instanceof ServerLevel) || fastForward != null) return false;
+
+        SiteJob job = getSiteJob();
+        if (job == null) return false;
 
-        if (p >= a && p >= s && p >= h) return pick;
-        if (a >= p && a >= s && a >= h) return axe;
-        if (s >= p && s >= a && s >= h) return shovel;
-        return hoe;
+        fastForward = new FastForwardUnit(job, elapsedTicks);
+        DroneWorkScheduler.submit(drone.getWorkOwner(), fastForward);
+        return true;
+    }
+
+    /** Whether an offline catch-up is still being applied. */
+    public boolean isFastForwarding() {
+        return fastForward != null;
+    }
+
+    /**
+     * Applies the offline catch-up in budgeted steps.
+     * <p>
+     * Cells are taken layer by layer in spiral order from the saved progress,
+     * the first layer wrapping around from the saved cell. Each one costs the
+     * ticks the mining speed model gives for it, without Haste since effects
+     * do not tick while unloaded, plus a flat allowance for flying to it. The
+     * catch-up stops at the first cell in an unloaded chunk, when the loot no
+     * longer fits, after {@link Config#getFastForwardMaxBlocks()} blocks or
+     * when the time runs out. Loot is checked as a whole on a snapshot of the
+     * inventory, so nothing is ever popped into the world. Cells next to
+     * fluids or leased by another drone are left to the live AI, and so is
+     * every layer below them.
+     */
+    private class FastForwardUnit implements WorkUnit {
+
+        private final SiteJob job;
+        private final SiteBounds bounds;
+        private final SpiralCursor cursor;
+        private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        private final int endY, step, limit;
+        private final List<ItemStack> drops = new ArrayList<>();
+
+        private long budget;
+        private int layerY;
+        private int offset;
+        private int startIndex;
+        private int visited = 0;
+        private boolean layerCleared = true;
+        private int mined = 0;
+
+        FastForwardUnit(SiteJob job, long elapsedTicks) {
+            this.job = job;
+            this.bounds = job.getBounds();
+            this.cursor = new SpiralCursor(bounds);
+            this.endY = bounds.end().getY();
+            this.step = endY > bounds.start().getY() ? 1 : -1;
+            this.limit = Config.getFastForwardMaxBlocks();
+            this.budget = elapsedTicks;
+            this.layerY = resumeLayerFor(job);
+
+            MiningProgress saved = drone.getMiningProgress();
+            if (saved != null && saved.siteFingerprint() == bounds.fingerprint() && saved.layerY() == layerY) {
+                this.offset = Math.floorMod(saved.spiralOffset(), cursor.size());
+                this.startIndex = Math.max(0, Math.min(saved.spiralIndex(), cursor.size() - 1));
+            }
+        }
+
+        @Override
+        public Result step() {
+            if (!(drone.level() instanceof ServerLevel level) || !job.getBounds().equals(bounds)) {
+                return finish();
+            }
+
+            SiteRuntime site = getSite();
+            long now = level.getGameTime();
+            DroneInventory room = drone.getInventory().snapshot();
+
+            for (int cells = 0, breaks = 0;
+                 cells < FAST_FORWARD_CELLS_PER_STEP && breaks < FAST_FORWARD_BREAKS_PER_STEP;
+                 cells++) {
+
+                if (visited == cursor.size()) {
+                    if (!layerCleared || layerY == endY) return finish();
+                    layerY += step;
+                    startIndex = 0;
+                    visited = 0;
+                    layerCleared = true;
+                }
+
+                cursor.positionAt((offset + startIndex + visited) % cursor.size(), layerY, pos);
+                if (!level.isLoaded(pos)) return finish();
+
+                BlockState state = level.getBlockState(pos);
+                if (!isMinable(level, pos, state)) {
+                    visited++;
+                    continue;
+                }
+
+                if (touchesFluid(level, pos)
+                        || (site != null && site.getLeases().isHeldByOther(pos, drone.getUUID(), now))) {
+                    layerCleared = false;
+                    visited++;
+                    continue;
+                }
+
+                MiningProfiles.Profile profile = MiningProfiles.get(state);
+                long cost = ticksToMine(profile, -1) + FAST_FORWARD_FLIGHT_TICKS;
+                if (mined >= limit || cost > budget) return finish();
+
+                BlockPos target = pos.immutable();
+                drops.clear();
+                collectDrops(level, target, state, profile.tool(), drops);
+                for (ItemStack drop : drops) {
+                    if (!room.insertStacked(drop.copy(), false).isEmpty()) return finish();
+                }
+
+                storeOrPop(level, target, drops);
+                level.destroyBlock(target, false);
+                budget -= cost;
+                mined++;
+                breaks++;
+                visited++;
+            }
+            return Result.MORE;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            if (!drone.isRemoved()) return false;
+            fastForward = null;
+            return true;
+        }
+
+        /** Records where the live AI has to pick up and releases the goal. */
+        private Result finish() {
+            fastForward = null;
+
+            if (mined > 0) {
+                int index = visited == cursor.size() ? 0 : (startIndex + visited) % cursor.size();
+                drone.setMiningProgress(new MiningProgress(layerY, index, offset, bounds.fingerprint()));
+                job.setProgressLayer(layerY);
+            }
+            return Result.DONE;
+        }
+    }
+
+    /** Layer the mining goal would resume on, clamped to the site. */
+    private int resumeLayerFor(SiteJob job) {
+        SiteBounds bounds = job.getBounds();
+        MiningProgress saved = drone.getMiningProgress();
+
+        int layerY = bounds.start().getY();
+        if (saved != null && saved.siteFingerprint() == bounds.fingerprint()) {
+            layerY = saved.layerY();
+        } else if (job.getProgressLayer() != SiteJob.NO_LAYER) {
+            layerY = job.getProgressLayer();
+        }
+        return Math.max(bounds.minY(), Math.min(bounds.maxY(), layerY));
+    }
+
+    private static boolean touchesFluid(Level level, BlockPos pos) {
+        for (Direction dir : Direction.values()) {
+            BlockPos next = pos.relative(dir);
+            if (!level.isLoaded(next) || !level.getFluidState(next).isEmpty()) return true;
+        }
+        return false;
     }
 
     /* ------------------------------------------------------------ */
@@ -380,44 +907,37 @@ public class DroneAiLogic {
 
     public boolean hasInventorySpaceFor(ItemStack item) {
         if (item.isEmpty()) return true;
-        ItemStack remainder = ItemHandlerHelper.insertItemStacked(
-                drone.getInventory(), item.copy(), true
-        );
+        ItemStack remainder = drone.getInventory().insertStacked(item.copy(), true);
         return remainder.getCount() < item.getCount();
     }
 
     public boolean hasAnyInventorySpace() {
-        var inventory = drone.getInventory();
-
-        for (int i = 0; i < inventory.getSlots(); i++) {
-            ItemStack stack = inventory.getStackInSlot(i);
-            if (stack.isEmpty()) return true;
-            int effectiveLimit = Math.min(inventory.getSlotLimit(i), stack.getMaxStackSize());
-            if (stack.getCount() < effectiveLimit) return true;
-        }
-        return false;
+        return drone.getInventory().hasFreeSpace();
     }
 
     public int findSlotWithFluidRemoverBlock() {
-        for (int i = 0; i < drone.getInventory().getSlots(); i++) {
-            ItemStack stack = drone.getInventory().getStackInSlot(i);
-            if (!stack.isEmpty() && stack.getItem() instanceof BlockItem bi) {
-                BlockState state = bi.getBlock().defaultBlockState();
-                if (state.isCollisionShapeFullBlock(drone.level(), drone.blockPosition())) {
-                    return i;
-                }
-            }
-        }
-        return -1;
+        return drone.getInventory().findFluidRemoverSlot();
     }
 
     public ItemStack itemStore(ItemStack item) {
-        return ItemHandlerHelper.insertItemStacked(drone.getInventory(), item, false);
+        return drone.getInventory().insertStacked(item, false);
     }
 
+    /**
+     * Stores the items lying around the drone. Inside a site the candidates
+     * come from the site item index instead of an entity query.
+     */
     public boolean itemPickUp() {
         AABB area = drone.getBoundingBox().inflate(1.0, 0.5, 1.0);
-        List<ItemEntity> items = drone.level().getEntitiesOfClass(ItemEntity.class, area);
+        SiteRuntime site = getSite();
+
+        List<ItemEntity> items;
+        if (site != null && site.getItemIndex().contains(area)) {
+            items = new ArrayList<>();
+            site.getItemIndex().collectIn(site.getLevel(), area, items);
+        } else {
+            items = drone.level().getEntitiesOfClass(ItemEntity.class, area);
+        }
         boolean picked = false;
 
         for (ItemEntity entity : items) {
@@ -439,6 +959,16 @@ public class DroneAiLogic {
         return picked;
     }
 
+    /**
+     * Places the block item held in an inventory slot. Placement consumes
+     * the stack in place, so the slot index is refreshed afterwards.
+     */
+    public boolean placeBlock(BlockPos pos, int slot) {
+        boolean placed = placeBlock(pos, drone.getInventory().getStackInSlot(slot));
+        drone.getInventory().refreshSlot(slot);
+        return placed;
+    }
+
     public boolean placeBlock(BlockPos pos, ItemStack stack) {
         if (stack.isEmpty() || !(stack.getItem() instanceof BlockItem blockItem)) {
             return false;
@@ -483,8 +1013,14 @@ public class DroneAiLogic {
      * Validates whether a block can be mined by the drone.
      */
     public boolean isValidMiningTarget(BlockPos pos) {
-        BlockState state = drone.level().getBlockState(pos);
+        return isMinable(drone.level(), pos, drone.level().getBlockState(pos));
+    }
 
+    /**
+     * State-level mining rule shared by {@link #isValidMiningTarget} and the
+     * site mining index, which evaluates it straight from section palettes.
+     */
+    public static boolean isMinable(BlockGetter level, BlockPos pos, BlockState state) {
         if (state.isAir()) return false;
 
         if (!state.getFluidState().isEmpty()
@@ -492,7 +1028,7 @@ public class DroneAiLogic {
             return false;
         }
 
-        if (state.getDestroySpeed(drone.level(), pos) < 0) return false;
+        if (state.getDestroySpeed(level, pos) < 0) return false;
 
         return !state.is(net.minecraft.world.level.block.Blocks.REINFORCED_DEEPSLATE);
     }
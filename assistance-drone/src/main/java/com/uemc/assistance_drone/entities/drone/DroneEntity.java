@@ -1,5 +1,6 @@
 package com.uemc.assistance_drone.entities.drone;
 
+import com.uemc.assistance_drone.Config;
 import com.uemc.assistance_drone.entities.drone.goals.DroneFluidHandlerGoal;
 import com.uemc.assistance_drone.entities.drone.goals.DroneGoalRegistry;
 import com.uemc.assistance_drone.items.ModItems;
@@ -34,7 +35,6 @@ import net.minecraft.world.level.pathfinder.Path;
 import net.minecraft.world.level.pathfinder.PathType;
 import net.minecraft.world.phys.Vec3;
 import net.neoforged.neoforge.fluids.FluidType;
-import net.neoforged.neoforge.items.ItemStackHandler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -58,6 +58,9 @@ public class DroneEntity extends PathfinderMob implements MenuProvider {
     private static final float DRONE_WIDTH = 0.7F;
     private static final float DRONE_HEIGHT = 0.6F;
 
+    /* Shorter absences are not worth a fast-forward */
+    private static final long FAST_FORWARD_MIN_TICKS = 200L;
+
     private static final EntityDataAccessor<String> STATE =
             SynchedEntityData.defineId(DroneEntity.class, EntityDataSerializers.STRING);
     private static final EntityDataAccessor<Optional<UUID>> OWNER =
@@ -78,12 +81,12 @@ public class DroneEntity extends PathfinderMob implements MenuProvider {
 
     private final DroneAiLogic aiLogic;
 
-    private final ItemStackHandler inventory = new ItemStackHandler(13) {
-        @Override
-        public int getSlotLimit(int slot) {
-            return 16;
-        }
-    };
+    private @Nullable MiningProgress miningProgress;
+
+    /* Game time this drone was saved at, until the first tick after loading */
+    private long savedAtGameTime = -1L;
+
+    private final DroneInventory inventory = new DroneInventory();
 
     /* ------------------------------------------------------------ */
     /* Construction & Attributes                                    */
@@ -129,20 +132,26 @@ public class DroneEntity extends PathfinderMob implements MenuProvider {
         return this.aiLogic;
     }
 
-    public ItemStackHandler getInventory() {
+    public DroneInventory getInventory() {
         return this.inventory;
     }
 
+    /**
+     * Returns the last recorded mining traversal position, if any.
+     */
+    public @Nullable MiningProgress getMiningProgress() {
+        return this.miningProgress;
+    }
+
+    public void setMiningProgress(@Nullable MiningProgress progress) {
+        this.miningProgress = progress;
+    }
+
     /**
      * Checks whether the internal inventory contains any items.
      */
     public boolean isInventoryEmpty() {
-        for (int i = 0; i < inventory.getSlots(); i++) {
-            if (!inventory.getStackInSlot(i).isEmpty()) {
-                return false;
-            }
-        }
-        return true;
+        return inventory.isEmpty();
     }
 
     /* ------------------------------------------------------------ */
@@ -154,6 +163,11 @@ public class DroneEntity extends PathfinderMob implements MenuProvider {
         super.tick();
 
         if (!this.level().isClientSide) {
+            if (this.savedAtGameTime >= 0L) {
+                catchUpUnloadedTime(this.level().getGameTime() - this.savedAtGameTime);
+                this.savedAtGameTime = -1L;
+            }
+
             ItemStack stack = this.inventory.getStackInSlot(0);
             boolean hasPlanner = !stack.isEmpty() && stack.getItem() == ModItems.SITE_PLANNER.get();
             this.entityData.set(HAS_PLANNER, hasPlanner);
@@ -169,6 +183,18 @@ public class DroneEntity extends PathfinderMob implements MenuProvider {
         }
     }
 
+    /**
+     * Lets a mining drone make up for the time its chunk spent unloaded.
+     * See {@link DroneAiLogic#fastForwardMining}.
+     */
+    private void catchUpUnloadedTime(long elapsedTicks) {
+        if (!Config.isFastForwardMining()) return;
+        if (elapsedTicks < FAST_FORWARD_MIN_TICKS) return;
+        if (!ModKeys.STATE_MINE.equals(this.getState())) return;
+
+        this.aiLogic.fastForwardMining(elapsedTicks);
+    }
+
     @Override
     protected void registerGoals() {
         super.registerGoals();
@@ -206,6 +232,12 @@ public class DroneEntity extends PathfinderMob implements MenuProvider {
                 }
                 super.doStuckDetection(positionVec3);
             }
+            // Paths are planned asynchronously by DroneAiLogic; drop the
+            // invalidated path instead of recomputing it on the server thread
+            @Override
+            public void recomputePath() {
+                stop();
+            }
         };
         nav.setCanOpenDoors(true);
         nav.setCanPassDoors(true);
@@ -285,6 +317,15 @@ public class DroneEntity extends PathfinderMob implements MenuProvider {
         return uuid != null ? level().getPlayerByUUID(uuid) : null;
     }
 
+    /**
+     * Key under which this drone's heavy work is scheduled: its owner, or the
+     * drone itself when unowned, so scheduling is fair across players.
+     */
+    public UUID getWorkOwner() {
+        UUID owner = getOwnerUUID();
+        return owner != null ? owner : getUUID();
+    }
+
     public void setOwner(Player player) {
         this.entityData.set(OWNER, Optional.of(player.getUUID()));
     }
@@ -298,6 +339,10 @@ public class DroneEntity extends PathfinderMob implements MenuProvider {
         if (getOwnerUUID() != null) {
             tag.putUUID("Owner", getOwnerUUID());
         }
+        if (this.miningProgress != null) {
+            tag.put("MiningProgress", this.miningProgress.save());
+        }
+        tag.putLong("SavedAt", this.level().getGameTime());
     }
 
     @Override
@@ -313,6 +358,12 @@ public class DroneEntity extends PathfinderMob implements MenuProvider {
         if (tag.hasUUID("Owner")) {
             this.entityData.set(OWNER, Optional.of(tag.getUUID("Owner")));
         }
+        if (tag.contains("MiningProgress", 10)) {
+            this.miningProgress = MiningProgress.load(tag.getCompound("MiningProgress"));
+        }
+        if (tag.contains("SavedAt", 4)) {
+            this.savedAtGameTime = tag.getLong("SavedAt");
+        }
     }
 
     /* ------------------------------------------------------------ */
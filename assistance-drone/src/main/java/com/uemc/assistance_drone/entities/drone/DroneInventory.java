@@ -0,0 +1,227 @@
+package com.uemc.assistance_drone.entities.drone;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.item.BlockItem;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.EmptyBlockGetter;
+import net.minecraft.world.level.block.Block;
+import net.neoforged.neoforge.items.ItemStackHandler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Drone storage handler with a slot index for stacked insertion.
+ * <p>
+ * For every slot the handler remembers the hash of the stored item and
+ * components, and keeps bitmasks of empty slots, of non-empty slots that can
+ * still grow and of slots holding a block usable to seal fluids.
+ * {@link #insertStacked} only visits partial slots whose hash matches and
+ * then the first empty slots. The usual
+ * {@code ItemHandlerHelper.insertItemStacked} checks every slot for every
+ * stack. Occupancy, free space and sealant lookups are bit operations, and
+ * whether a block seals is classified once per {@link Block}.
+ * <p>
+ * A configurable number of sealant blocks is held back as a reserve:
+ * {@link #countRemovable} tells unloading code how much of a slot may leave
+ * without eating into it, so the fluid goal does not run dry mid-leak.
+ * <p>
+ * The index is updated from {@link #onContentsChanged}. Code that modifies a
+ * stack returned by {@link #getStackInSlot} in place must call
+ * {@link #refreshSlot} afterwards.
+ */
+public class DroneInventory extends ItemStackHandler {
+
+    public static final int SIZE = 13;
+    private static final int SLOT_LIMIT = 16;
+
+    /* Shared by client menus and the server, hence concurrent */
+    private static final Map<Block, Boolean> SEALANT_BLOCKS = new ConcurrentHashMap<>();
+
+    private int[] slotHashes = new int[SIZE];
+    private long emptyMask = 0L;
+    private long partialMask = 0L;
+    private long fluidRemoverMask = 0L;
+    private long allSlotsMask = 0L;
+
+    public DroneInventory() {
+        super(SIZE);
+        refreshAll();
+    }
+
+    @Override
+    public int getSlotLimit(int slot) {
+        return SLOT_LIMIT;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Insertion                                                    */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Same contract as {@code ItemHandlerHelper.insertItemStacked}: existing
+     * stacks of the same item are filled first, in slot order, then empty
+     * slots.
+     *
+     * @return the part of {@code stack} that did not fit
+     */
+    public ItemStack insertStacked(ItemStack stack, boolean simulate) {
+        if (stack.isEmpty()) return stack;
+
+        ItemStack remaining = stack;
+
+        if (stack.isStackable()) {
+            int hash = ItemStack.hashItemAndComponents(stack);
+            long candidates = partialMask;
+
+            while (candidates != 0L && !remaining.isEmpty()) {
+                int slot = Long.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
+
+                if (slotHashes[slot] != hash) continue;
+                if (!ItemStack.isSameItemSameComponents(stacks.get(slot), remaining)) continue;
+
+                remaining = insertItem(slot, remaining, simulate);
+            }
+        }
+
+        long empty = emptyMask;
+        while (empty != 0L && !remaining.isEmpty()) {
+            int slot = Long.numberOfTrailingZeros(empty);
+            empty &= empty - 1;
+
+            remaining = insertItem(slot, remaining, simulate);
+        }
+
+        return remaining;
+    }
+
+    /**
+     * Detached copy for capacity simulations that insert several stacks in a
+     * row; changes to the copy never reach this inventory.
+     */
+    public DroneInventory snapshot() {
+        DroneInventory copy = new DroneInventory();
+        copy.setSize(stacks.size());
+        for (int slot = 0; slot < stacks.size(); slot++) {
+            copy.stacks.set(slot, stacks.get(slot).copy());
+        }
+        copy.refreshAll();
+        return copy;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Queries                                                      */
+    /* ------------------------------------------------------------ */
+
+    public boolean isEmpty() {
+        return emptyMask == allSlotsMask;
+    }
+
+    /** Whether any slot is empty or holds a stack that can still grow. */
+    public boolean hasFreeSpace() {
+        return (emptyMask | partialMask) != 0L;
+    }
+
+    /** Number of non-empty slots with index {@code >= fromSlot}. */
+    public int countOccupied(int fromSlot) {
+        if (fromSlot >= stacks.size()) return 0;
+        return Long.bitCount(~emptyMask & allSlotsMask & (-1L << fromSlot));
+    }
+
+    /**
+     * Returns the first slot holding a block with a full collision cube, or
+     * {@code -1}. The shape is taken from the default state outside of any
+     * world, which is what placement produces for such blocks.
+     */
+    public int findFluidRemoverSlot() {
+        return fluidRemoverMask == 0L ? -1 : Long.numberOfTrailingZeros(fluidRemoverMask);
+    }
+
+    /** Total number of sealant blocks held. */
+    public int countFluidRemovers() {
+        int total = 0;
+        long mask = fluidRemoverMask;
+        while (mask != 0L) {
+            int slot = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            total += stacks.get(slot).getCount();
+        }
+        return total;
+    }
+
+    /**
+     * Number of items that may be taken out of {@code slot} while at least
+     * {@code reserve} sealant blocks stay in the inventory.
+     */
+    public int countRemovable(int slot, int reserve) {
+        ItemStack stack = stacks.get(slot);
+        if (stack.isEmpty()) return 0;
+        if ((fluidRemoverMask & (1L << slot)) == 0L) return stack.getCount();
+
+        return Math.max(0, Math.min(stack.getCount(), countFluidRemovers() - reserve));
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Index maintenance                                            */
+    /* ------------------------------------------------------------ */
+
+    @Override
+    protected void onContentsChanged(int slot) {
+        refreshSlot(slot);
+    }
+
+    @Override
+    protected void onLoad() {
+        refreshAll();
+    }
+
+    /** Re-reads a single slot into the index. */
+    public void refreshSlot(int slot) {
+        ItemStack stack = stacks.get(slot);
+        long bit = 1L << slot;
+
+        if (stack.isEmpty()) {
+            slotHashes[slot] = 0;
+            emptyMask |= bit;
+            partialMask &= ~bit;
+            fluidRemoverMask &= ~bit;
+            return;
+        }
+
+        slotHashes[slot] = ItemStack.hashItemAndComponents(stack);
+        emptyMask &= ~bit;
+
+        if (isFluidRemover(stack)) {
+            fluidRemoverMask |= bit;
+        } else {
+            fluidRemoverMask &= ~bit;
+        }
+
+        if (stack.getCount() < Math.min(getSlotLimit(slot), stack.getMaxStackSize())) {
+            partialMask |= bit;
+        } else {
+            partialMask &= ~bit;
+        }
+    }
+
+    private void refreshAll() {
+        if (slotHashes.length != stacks.size()) {
+            slotHashes = new int[stacks.size()];
+        }
+        emptyMask = 0L;
+        partialMask = 0L;
+        fluidRemoverMask = 0L;
+        allSlotsMask = stacks.size() >= 64 ? -1L : (1L << stacks.size()) - 1;
+
+        for (int slot = 0; slot < stacks.size(); slot++) {
+            refreshSlot(slot);
+        }
+    }
+
+    private static boolean isFluidRemover(ItemStack stack) {
+        return stack.getItem() instanceof BlockItem blockItem
+                && SEALANT_BLOCKS.computeIfAbsent(blockItem.getBlock(), block -> block.defaultBlockState()
+                .isCollisionShapeFullBlock(EmptyBlockGetter.INSTANCE, BlockPos.ZERO));
+    }
+}
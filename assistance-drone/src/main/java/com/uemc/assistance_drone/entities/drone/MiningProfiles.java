@@ -0,0 +1,129 @@
+package com.uemc.assistance_drone.entities.drone;
+
+import com.uemc.assistance_drone.util.ModTags;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.Tiers;
+import net.minecraft.world.level.EmptyBlockGetter;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Lazily populated lookup table of mining parameters per {@link BlockState}.
+ * <p>
+ * The drone mines with a virtual iron tool set. Choosing the best tool means
+ * comparing four destroy speeds, which used to happen every time the mining
+ * target changed. Here the result is computed once per state and stored in an
+ * array indexed by the block state id, so a lookup is a single array access.
+ * <p>
+ * Blocks in one of the {@code assistance_drone:drone_tools/*} tags use that
+ * tool regardless of the vanilla mineable tags. The table depends on tags, so
+ * it is dropped whenever tags are reloaded.
+ * <p>
+ * Hardness is taken from the state alone; blocks whose hardness depends on
+ * the position are still guarded by the per-block checks in
+ * {@link DroneAiLogic#mineBlock}. Server thread only.
+ * <p>
+ * Soft shovel blocks (dirt, sand, gravel...) are flagged as {@code batchable}:
+ * the drone may break them in patches instead of one at a time.
+ */
+public final class MiningProfiles {
+
+    private MiningProfiles() {}
+
+    /**
+     * @param tool      virtual tool used for speed and loot context; must not be modified
+     * @param toolSpeed destroy speed of that tool against the state
+     * @param hardness  destroy time of the state
+     * @param batchable whether the state may be mined as part of a patch
+     */
+    public record Profile(ItemStack tool, float toolSpeed, float hardness, boolean batchable) {}
+
+    private static final float OVERRIDE_MIN_SPEED = Tiers.IRON.getSpeed();
+    private static final float BATCH_MAX_HARDNESS = 0.6F;
+
+    private static Profile[] table = new Profile[0];
+    private static ItemStack[] tools = null;
+
+    /* ------------------------------------------------------------ */
+    /* Lookup                                                       */
+    /* ------------------------------------------------------------ */
+
+    public static Profile get(BlockState state) {
+        int id = Block.getId(state);
+        if (id < 0) return compute(state);
+
+        if (id >= table.length) {
+            Profile[] grown = new Profile[Math.max(id + 1, Block.BLOCK_STATE_REGISTRY.size())];
+            System.arraycopy(table, 0, grown, 0, table.length);
+            table = grown;
+        }
+
+        Profile profile = table[id];
+        if (profile == null) {
+            profile = compute(state);
+            table[id] = profile;
+        }
+        return profile;
+    }
+
+    /** Drops every cached profile. Called when tags are reloaded. */
+    public static void invalidate() {
+        table = new Profile[0];
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Computation                                                  */
+    /* ------------------------------------------------------------ */
+
+    private static Profile compute(BlockState state) {
+        float hardness = state.getDestroySpeed(EmptyBlockGetter.INSTANCE, BlockPos.ZERO);
+
+        ItemStack override = getOverrideTool(state);
+        if (override != null) {
+            float speed = Math.max(override.getDestroySpeed(state), OVERRIDE_MIN_SPEED);
+            return new Profile(override, speed, hardness, isBatchable(state, override, hardness));
+        }
+
+        ItemStack best = null;
+        float bestSpeed = -1.0F;
+        for (ItemStack tool : tools()) {
+            float speed = tool.getDestroySpeed(state);
+            if (speed > bestSpeed) {
+                best = tool;
+                bestSpeed = speed;
+            }
+        }
+        return new Profile(best, bestSpeed, hardness, isBatchable(state, best, hardness));
+    }
+
+    private static boolean isBatchable(BlockState state, ItemStack tool, float hardness) {
+        return tool == tools()[2]
+                && hardness >= 0.0F
+                && hardness <= BATCH_MAX_HARDNESS
+                && !state.hasBlockEntity();
+    }
+
+    private static ItemStack getOverrideTool(BlockState state) {
+        ItemStack[] tools = tools();
+        if (state.is(ModTags.DRONE_PICKAXE)) return tools[0];
+        if (state.is(ModTags.DRONE_AXE)) return tools[1];
+        if (state.is(ModTags.DRONE_SHOVEL)) return tools[2];
+        if (state.is(ModTags.DRONE_HOE)) return tools[3];
+        return null;
+    }
+
+    /** Pickaxe, axe, shovel, hoe — ties resolve in this order. */
+    private static ItemStack[] tools() {
+        if (tools == null) {
+            tools = new ItemStack[]{
+                    Items.IRON_PICKAXE.getDefaultInstance(),
+                    Items.IRON_AXE.getDefaultInstance(),
+                    Items.IRON_SHOVEL.getDefaultInstance(),
+                    Items.IRON_HOE.getDefaultInstance()
+            };
+        }
+        return tools;
+    }
+}
@@ -0,0 +1,53 @@
+package com.uemc.assistance_drone.entities.drone;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Persisted position of the mining traversal of a drone.
+ * <p>
+ * Stored in the entity save data so a quarry resumes where it stopped after
+ * a restart or chunk reload. {@code siteFingerprint} identifies the Site
+ * Planner bounds the cursor belongs to; a mismatch means the selection was
+ * changed and the traversal has to start over.
+ *
+ * @param layerY          Y of the layer being mined
+ * @param spiralIndex     next spiral index to visit in that layer, relative to {@code spiralOffset}
+ * @param spiralOffset    spiral position the drone started the layer at; the
+ *                        offset is recomputed from the site participants on
+ *                        every layer, so the index alone does not pin a cell
+ * @param siteFingerprint {@link com.uemc.assistance_drone.site.SiteBounds#fingerprint()}
+ */
+public record MiningProgress(int layerY, int spiralIndex, int spiralOffset, long siteFingerprint) {
+
+    private static final String LAYER_KEY = "Layer";
+    private static final String SPIRAL_INDEX_KEY = "SpiralIndex";
+    private static final String SPIRAL_OFFSET_KEY = "SpiralOffset";
+    private static final String SITE_KEY = "Site";
+
+    public CompoundTag save() {
+        CompoundTag tag = new CompoundTag();
+        tag.putInt(LAYER_KEY, layerY);
+        tag.putInt(SPIRAL_INDEX_KEY, spiralIndex);
+        tag.putInt(SPIRAL_OFFSET_KEY, spiralOffset);
+        tag.putLong(SITE_KEY, siteFingerprint);
+        return tag;
+    }
+
+    @Nullable
+    public static MiningProgress load(CompoundTag tag) {
+        if (!tag.contains(LAYER_KEY, Tag.TAG_INT)
+                || !tag.contains(SPIRAL_INDEX_KEY, Tag.TAG_INT)
+                || !tag.contains(SPIRAL_OFFSET_KEY, Tag.TAG_INT)
+                || !tag.contains(SITE_KEY, Tag.TAG_LONG)) {
+            return null;
+        }
+        return new MiningProgress(
+                tag.getInt(LAYER_KEY),
+                tag.getInt(SPIRAL_INDEX_KEY),
+                tag.getInt(SPIRAL_OFFSET_KEY),
+                tag.getLong(SITE_KEY)
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package com.uemc.assistance_drone.entities.drone;
+
+/**
+ * Answer of {@link DroneAiLogic#checkReachability}. Path searches run
+ * asynchronously, so a target can be neither known reachable nor unreachable
+ * yet; callers should hover and ask again on a later tick.
+ */
+public enum Reachability {
+    REACHABLE,
+    UNREACHABLE,
+    PENDING
+}
@@ -0,0 +1,231 @@
+package com.uemc.assistance_drone.entities.drone;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of "can a drone standing here reach that block" answers.
+ * <p>
+ * Entries are keyed by the packed target position and the coarse region
+ * ({@value #REGION_SHIFT}-bit shifted block coordinates) the drone was in,
+ * so the same cache can be shared by every drone working a site. Eviction
+ * combines an LRU bound of {@value #MAX_ENTRIES} entries with an expiry,
+ * {@value #TTL_TICKS} ticks unless the owner picks a shorter one because
+ * nothing calls {@link #invalidate} for it. Block updates bump a per-region
+ * generation counter; an entry is stale once its target region, its drone
+ * region or, for a "reachable" answer, any region along the route it was
+ * proven with changed after it was stored. That route is the path a search
+ * found or the straight line of a line-of-sight check. Routes crossing more
+ * than {@value #MAX_ROUTE_REGIONS} regions are only tracked up to that
+ * many, and their answer expires after {@value #UNTRACKED_TTL_TICKS} ticks
+ * at most, since a block placed on the untracked part would go unnoticed.
+ * <p>
+ * Hit and miss counters are kept to verify how many pathfinding calls the
+ * cache avoids.
+ */
+public final class ReachabilityCache {
+
+    private static final int MAX_ENTRIES = 512;
+    private static final long TTL_TICKS = 100L;
+    private static final int REGION_SHIFT = 2;
+    private static final int MAX_TRACKED_REGIONS = 4096;
+    private static final int MAX_ROUTE_REGIONS = 32;
+    private static final long UNTRACKED_TTL_TICKS = 20L;
+    private static final long[] NO_REGIONS = new long[0];
+    private static final int[] NO_GENERATIONS = new int[0];
+
+    private record Key(long target, long droneRegion) {}
+
+    private record Entry(boolean reachable, long expiryTick, int targetGeneration, int droneGeneration,
+                         long[] routeRegions, int[] routeGenerations) {}
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(64, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private final Long2IntOpenHashMap regionGenerations = new Long2IntOpenHashMap();
+
+    private final long ttlTicks;
+
+    private long hits = 0;
+    private long misses = 0;
+
+    public ReachabilityCache() {
+        this(TTL_TICKS);
+    }
+
+    /**
+     * @param ttlTicks lifetime of an entry; a cache that is not fed block
+     *                 updates should keep it short
+     */
+    public ReachabilityCache(long ttlTicks) {
+        this.ttlTicks = ttlTicks;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Lookup                                                       */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Returns the cached answer, or {@code null} on a miss.
+     */
+    @Nullable
+    public Boolean get(BlockPos target, BlockPos dronePos, long gameTime) {
+        long targetRegion = regionOf(target);
+        long droneRegion = regionOf(dronePos);
+
+        Entry entry = entries.get(new Key(target.asLong(), droneRegion));
+
+        if (entry == null
+                || gameTime >= entry.expiryTick
+                || entry.targetGeneration != regionGenerations.get(targetRegion)
+                || entry.droneGeneration != regionGenerations.get(droneRegion)
+                || !isRouteCurrent(entry)) {
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return entry.reachable;
+    }
+
+    private boolean isRouteCurrent(Entry entry) {
+        for (int i = 0; i < entry.routeRegions.length; i++) {
+            if (entry.routeGenerations[i] != regionGenerations.get(entry.routeRegions[i])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stores the answer of a line-of-sight check; a "reachable" answer
+     * tracks the regions along the straight line.
+     */
+    public void put(BlockPos target, BlockPos dronePos, boolean reachable, long gameTime) {
+        LongArrayList route = new LongArrayList();
+        if (reachable) {
+            int steps = Math.max(1, dronePos.distManhattan(target));
+            for (int i = 0; i <= steps && route.size() <= MAX_ROUTE_REGIONS; i++) {
+                double t = (double) i / steps;
+                addRegion(route, regionOf(
+                        (int) Math.floor(dronePos.getX() + 0.5 + (target.getX() - dronePos.getX()) * t),
+                        (int) Math.floor(dronePos.getY() + 0.5 + (target.getY() - dronePos.getY()) * t),
+                        (int) Math.floor(dronePos.getZ() + 0.5 + (target.getZ() - dronePos.getZ()) * t)));
+            }
+        }
+        store(target, dronePos, reachable, gameTime, route);
+    }
+
+    /**
+     * Stores the answer of a path search; a "reachable" answer tracks the
+     * regions the found {@code path} crosses. Without path nodes the
+     * straight line is tracked instead.
+     */
+    public void put(BlockPos target, BlockPos dronePos, boolean reachable, long gameTime, List<BlockPos> path) {
+        if (reachable && path.size() < 2) {
+            put(target, dronePos, true, gameTime);
+            return;
+        }
+
+        LongArrayList route = new LongArrayList();
+        if (reachable) {
+            for (int i = 0; i < path.size() && route.size() <= MAX_ROUTE_REGIONS; i++) {
+                addRegion(route, regionOf(path.get(i)));
+            }
+        }
+        store(target, dronePos, reachable, gameTime, route);
+    }
+
+    private void store(BlockPos target, BlockPos dronePos, boolean reachable, long gameTime, LongArrayList route) {
+        long targetRegion = regionOf(target);
+        long droneRegion = regionOf(dronePos);
+
+        long ttl = ttlTicks;
+        if (route.size() > MAX_ROUTE_REGIONS) {
+            route.size(MAX_ROUTE_REGIONS);
+            ttl = Math.min(ttlTicks, UNTRACKED_TTL_TICKS);
+        }
+
+        long[] regions = route.isEmpty() ? NO_REGIONS : route.toLongArray();
+        int[] generations = regions.length == 0 ? NO_GENERATIONS : new int[regions.length];
+        for (int i = 0; i < regions.length; i++) {
+            generations[i] = regionGenerations.get(regions[i]);
+        }
+
+        entries.put(
+                new Key(target.asLong(), droneRegion),
+                new Entry(
+                        reachable,
+                        gameTime + ttl,
+                        regionGenerations.get(targetRegion),
+                        regionGenerations.get(droneRegion),
+                        regions,
+                        generations
+                )
+        );
+    }
+
+    /** Appends {@code region} unless it is the last one added; routes revisit few regions. */
+    private static void addRegion(LongArrayList route, long region) {
+        if (route.isEmpty() || route.getLong(route.size() - 1) != region) route.add(region);
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Invalidation                                                 */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Invalidates every entry whose target, drone or route regions contain {@code pos}.
+     */
+    public void invalidate(BlockPos pos) {
+        if (regionGenerations.size() > MAX_TRACKED_REGIONS) {
+            // Generations only need to differ from what entries captured
+            entries.clear();
+            regionGenerations.clear();
+            return;
+        }
+        regionGenerations.addTo(regionOf(pos), 1);
+    }
+
+    public void clear() {
+        entries.clear();
+        regionGenerations.clear();
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Statistics                                                   */
+    /* ------------------------------------------------------------ */
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static long regionOf(BlockPos pos) {
+        return regionOf(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    private static long regionOf(int x, int y, int z) {
+        return BlockPos.asLong(x >> REGION_SHIFT, y >> REGION_SHIFT, z >> REGION_SHIFT);
+    }
+}
@@ -1,13 +1,26 @@
 package com.uemc.assistance_drone.entities.drone.goals;
 
 import com.uemc.assistance_drone.entities.drone.DroneEntity;
+import com.uemc.assistance_drone.entities.drone.Reachability;
 import com.uemc.assistance_drone.items.SitePlanner;
+import com.uemc.assistance_drone.scheduler.DroneWorkScheduler;
+import com.uemc.assistance_drone.scheduler.WorkUnit;
+import com.uemc.assistance_drone.site.SiteBounds;
+import com.uemc.assistance_drone.site.SiteColumnHeights;
+import com.uemc.assistance_drone.site.SiteFluidSections;
+import com.uemc.assistance_drone.site.SiteJob;
+import com.uemc.assistance_drone.site.SiteRuntime;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.ai.goal.Goal;
-import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.ClipContext;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
@@ -15,8 +28,6 @@ import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.world.level.chunk.LevelChunkSection;
 import net.minecraft.world.level.material.FluidState;
 import net.minecraft.world.phys.AABB;
-import net.minecraft.world.phys.BlockHitResult;
-import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
 
 import javax.annotation.Nullable;
@@ -29,8 +40,24 @@ import java.util.function.Predicate;
  * <p>
  * The implementation performs incremental, sectioned scanning of the build area to
  * locate fluid sources and external leaks. Threats are prioritized by a simple
- * scoring heuristic and queued for the drone to process. Scanning is throttled to
- * reduce tick cost and supports pause/resume across ticks.
+ * scoring heuristic and queued once per position in a {@link FluidThreatQueue}
+ * for the drone to process. Scans run as a
+ * {@link WorkUnit} on the {@link DroneWorkScheduler}, a bounded slice per step,
+ * so their cost counts against the global per-tick budget.
+ * </p>
+ *
+ * <p>
+ * After a first full pass only sections the site's {@link SiteFluidSections}
+ * reports as changed, or that were never covered, are scanned again, so a
+ * dry site costs next to nothing between changes. Once every section is
+ * covered, a pass with no fluid change since the last one is skipped
+ * without walking the sections at all.
+ * </p>
+ *
+ * <p>
+ * When a pass finds fluid leaking in at several places, a
+ * {@link FluidContainmentPlanner} computes the smallest perimeter seal and
+ * its cells are queued first, in route order.
  * </p>
  *
  * <p>
@@ -47,13 +74,26 @@ public class DroneFluidHandlerGoal extends Goal {
        Configuration
        ---------------------- */
 
-    private static final int MAX_SCAN_PER_TICK = 256;
+    private static final int MAX_SCAN_PER_STEP = 256;
     private static final int MAX_TRACE_NODES = 128;
     private static final int SCAN_COOLDOWN_TICKS = 10;
+    /* Persisted threats are re-read when the set changed, at most this often */
+    private static final int THREAT_RELOAD_COOLDOWN_TICKS = 20;
+    /* ...and regardless of changes this often, to retry blacklisted entries */
+    private static final int THREAT_RELOAD_INTERVAL_TICKS = 400;
     private static final double COLLISION_TOLERANCE = 0.1;
     private static final int INFINITE_SOURCE_THRESHOLD = 2;
     private static final int BORDER_THICKNESS = 2;
 
+    /* Passes finding this many leak entries plan a perimeter seal */
+    private static final int CONTAINMENT_MIN_LEAKS = 2;
+    /* Planned cells rank above every scored threat */
+    private static final int CONTAINMENT_PRIORITY = 1_000_000;
+
+    /* Leak memo values; no packed position reaches x = -2^25, far beyond the world border */
+    private static final long UNTRACED = Long.MIN_VALUE;
+    private static final long NO_SOURCE = Long.MIN_VALUE + 1;
+
     private static final List<Direction> TRACE_DIRECTIONS = List.of(
             Direction.UP, Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST
     );
@@ -66,12 +106,44 @@ public class DroneFluidHandlerGoal extends Goal {
     private final Predicate<String> activationCondition;
 
     private final Set<BlockPos> fluidBlacklist = new HashSet<>();
-    private final PriorityQueue<FluidThreat> fluidQueue = new PriorityQueue<>();
+    private final FluidThreatQueue fluidQueue = new FluidThreatQueue();
     private final Map<Long, Boolean> sectionSkipCache = new HashMap<>();
 
+    /* Incremental passes: sections covered since the change log below was at scannedEpoch */
+    private final LongSet scannedSections = new LongOpenHashSet();
+    private SiteFluidSections scannedFluids = null;
+    private long scannedEpoch = -1L;
+    /* Whether the last pass covered every section of its area, up to scannedEndY */
+    private boolean scannedAll = false;
+    private int scannedEndY = 0;
+    private boolean passLeftSections = false;
+
+    /* Leak tracing buffers, reused by every trace */
+    private final LongArrayFIFOQueue traceQueue = new LongArrayFIFOQueue(MAX_TRACE_NODES);
+    private final LongOpenHashSet traceVisited = new LongOpenHashSet(MAX_TRACE_NODES * TRACE_DIRECTIONS.size());
+    private final LongArrayList traceExpanded = new LongArrayList(MAX_TRACE_NODES);
+    private final BlockPos.MutableBlockPos traceCursor = new BlockPos.MutableBlockPos();
+    /* Leak source found for each fluid cell traced during the current pass */
+    private final Long2LongOpenHashMap leakMemo = new Long2LongOpenHashMap();
+
+    /* Outside fluid cells seen flowing into the site during the current pass */
+    private final LongOpenHashSet leakEntries = new LongOpenHashSet();
+    private final FluidContainmentPlanner containment = new FluidContainmentPlanner();
+    private AABB containmentSite = null;
+
     private BlockPos targetPos;
     private int scanCooldown = SCAN_COOLDOWN_TICKS;
 
+    /* Job threat set last loaded into the queue */
+    private SiteJob loadedThreatsJob = null;
+    private int loadedThreatsVersion = 0;
+    private long loadedThreatsTick = -THREAT_RELOAD_INTERVAL_TICKS;
+
+    private final WorkUnit scanUnit = new FluidScanUnit();
+    private boolean scanScheduled = false;
+    private ScanContext activeScan = null;
+    private int scannedThisStep = 0;
+
     /* Resume state when scanning incrementally */
     private int resumeX;
     private int resumeY;
@@ -85,6 +157,7 @@ public class DroneFluidHandlerGoal extends Goal {
         this.drone = drone;
         this.activationCondition = activationCondition;
         this.setFlags(EnumSet.of(Flag.MOVE, Flag.LOOK));
+        this.leakMemo.defaultReturnValue(UNTRACED);
     }
 
     /* ----------------------
@@ -103,9 +176,9 @@ public class DroneFluidHandlerGoal extends Goal {
         if (scanCooldown-- > 0) return false;
         scanCooldown = SCAN_COOLDOWN_TICKS;
 
-        scanForFluidThreats();
-        targetPos = getNextThreatFromQueue();
-        return targetPos != null;
+        // Threats found by the scan are picked up on a later check
+        requestScan();
+        return false;
     }
 
     @Override
@@ -115,10 +188,7 @@ public class DroneFluidHandlerGoal extends Goal {
         if (drone.getNavigation().isStuck()) return false;
 
         if (targetPos == null) targetPos = getNextThreatFromQueue();
-        if (targetPos == null) {
-            scanForFluidThreats();
-            targetPos = getNextThreatFromQueue();
-        }
+        if (targetPos == null) requestScan();
         return targetPos != null;
     }
 
@@ -170,13 +240,19 @@ public class DroneFluidHandlerGoal extends Goal {
     }
 
     /**
-     * Ensure the target is reachable and within interaction range; otherwise move toward it
-     * or blacklist it if inaccessible.
+     * Ensure the target is reachable and within interaction range; otherwise move toward it,
+     * hover while reachability is still being computed, or blacklist it if inaccessible.
      */
     private boolean handleTargetApproach() {
         if (drone.getLogic().isInRangeToInteract(targetPos)) return false;
 
-        if (!drone.getLogic().isBlockAccessible(targetPos)) {
+        Reachability reachability = drone.getLogic().checkReachability(targetPos);
+        if (reachability == Reachability.PENDING) {
+            drone.getLogic().hover();
+            return true;
+        }
+
+        if (reachability == Reachability.UNREACHABLE) {
             blacklistPositionAndAdjacent(targetPos);
             targetPos = null;
             drone.getNavigation().stop();
@@ -196,6 +272,9 @@ public class DroneFluidHandlerGoal extends Goal {
 
         if (placeBlock(targetPos)) {
             removeFromBlacklistWithAdjacent(targetPos);
+
+            SiteJob job = drone.getLogic().getSiteJob();
+            if (job != null) job.removeFluidThreat(targetPos);
         }
 
         targetPos = null;
@@ -206,13 +285,53 @@ public class DroneFluidHandlerGoal extends Goal {
        ---------------------- */
 
     private BlockPos getNextThreatFromQueue() {
+        if (fluidQueue.isEmpty()) loadThreatsFromJob();
+
         while (!fluidQueue.isEmpty()) {
-            FluidThreat threat = fluidQueue.poll();
-            if (!fluidBlacklist.contains(threat.pos)) return threat.pos;
+            BlockPos pos = BlockPos.of(fluidQueue.poll());
+            if (!fluidBlacklist.contains(pos)) return pos;
         }
         return null;
     }
 
+    /**
+     * Picks up threats recorded in the site job, found by any drone of the
+     * site or before a restart. Entries whose fluid is gone are dropped.
+     * <p>
+     * The set is only re-read once it changed, and then at most every
+     * {@value #THREAT_RELOAD_COOLDOWN_TICKS} ticks; otherwise every check of
+     * an empty queue would re-test the reachability of threats that are
+     * already blacklisted. An unchanged set is re-read every
+     * {@value #THREAT_RELOAD_INTERVAL_TICKS} ticks so blacklisted entries get
+     * another chance.
+     */
+    private void loadThreatsFromJob() {
+        SiteJob job = drone.getLogic().getSiteJob();
+        if (job == null || !job.hasFluidThreats()) return;
+
+        long now = drone.level().getGameTime();
+        long sinceLoad = now - loadedThreatsTick;
+        boolean changed = job != loadedThreatsJob || job.getFluidThreatsVersion() != loadedThreatsVersion;
+        if (sinceLoad < THREAT_RELOAD_COOLDOWN_TICKS) return;
+        if (!changed && sinceLoad < THREAT_RELOAD_INTERVAL_TICKS) return;
+
+        SiteBounds bounds = job.getBounds();
+        AABB site = AABB.encapsulatingFullBlocks(bounds.start(), bounds.end());
+
+        for (BlockPos pos : job.getFluidThreats()) {
+            if (drone.level().getFluidState(pos).isEmpty()) {
+                job.removeFluidThreat(pos);
+            } else if (!isBlacklistedAndBlocked(pos)) {
+                fluidQueue.offerIfHigher(pos.asLong(), calculatePriority(pos, site));
+            }
+        }
+
+        // Read after the removals above so they do not count as a change
+        loadedThreatsJob = job;
+        loadedThreatsVersion = job.getFluidThreatsVersion();
+        loadedThreatsTick = now;
+    }
+
     private int calculatePriority(BlockPos pos, AABB site) {
         int priority = 0;
 
@@ -243,29 +362,101 @@ public class DroneFluidHandlerGoal extends Goal {
         );
     }
 
+    /* ----------------------
+       Containment
+       ---------------------- */
+
+    /**
+     * Queues the cells of a finished containment plan ahead of every scored
+     * threat, in route order, so the drone seals the perimeter in one sweep.
+     * Scans and reloads re-offer those cells with their scored priority
+     * through {@link FluidThreatQueue#offerIfHigher}, which keeps the plan's.
+     */
+    private void applyContainmentPlan() {
+        LongList plan = containment.takePlan(drone.blockPosition());
+        for (int i = 0; i < plan.size(); i++) {
+            long pos = plan.getLong(i);
+            if (!fluidBlacklist.contains(BlockPos.of(pos))) {
+                fluidQueue.offer(pos, CONTAINMENT_PRIORITY - i);
+            }
+        }
+    }
+
     /* ----------------------
        Incremental scanning
        ---------------------- */
 
+    private void requestScan() {
+        if (scanScheduled) return;
+        scanScheduled = true;
+        DroneWorkScheduler.submit(drone.getWorkOwner(), scanUnit);
+    }
+
     /**
      * Scan the configured site area incrementally, adding detected threats to the queue.
-     * The method can pause early to remain within a CPU budget per tick; resume state is preserved.
+     * Each call processes at most {@value #MAX_SCAN_PER_STEP} blocks; resume state is preserved.
+     *
+     * @return {@code true} once the pass has covered the whole area
      */
-    @SuppressWarnings("DataFlowIssue")
-    private void scanForFluidThreats() {
-        ItemStack planner = drone.getInventory().getStackInSlot(0);
-        if (!SitePlanner.isConfigured(planner)) return;
+    private boolean scanForFluidThreats() {
+        scannedThisStep = 0;
+
+        if (!hasResumeState || activeScan == null) {
+            activeScan = createScanContext();
+            if (activeScan == null) return true;
+            leakMemo.clear();
+            leakEntries.clear();
+
+            if (isUpToDate(activeScan)) {
+                activeScan = null;
+                return true;
+            }
+            passLeftSections = false;
+            initializeResumeStateIfNeeded(activeScan.startSectionY, activeScan.siteMinX, activeScan.siteMinZ);
+        }
+
+        boolean completed = scanSections(activeScan);
+
+        if (completed) {
+            scannedEpoch = activeScan.passEpoch;
+            scannedAll = !passLeftSections;
+            scannedEndY = activeScan.effectiveEndY;
+            containmentSite = activeScan.site;
+            hasResumeState = false;
+            activeScan = null;
+        }
+        return completed;
+    }
+
+    /** Captures the scan area for a whole pass. */
+    @Nullable
+    private ScanContext createScanContext() {
+        SiteJob job = drone.getLogic().getSiteJob();
+        SiteRuntime runtime = drone.getLogic().getSite();
+        if (job == null || runtime == null) return null;
+
+        SiteFluidSections fluids = runtime.getFluidSections();
+        if (fluids != scannedFluids) {
+            // New site or a fresh runtime that missed changes: start over with a full pass
+            scannedFluids = fluids;
+            scannedEpoch = -1L;
+            scannedAll = false;
+            scannedSections.clear();
+            sectionSkipCache.clear();
+        }
 
-        BlockPos start = SitePlanner.getStartPos(planner);
-        BlockPos end = SitePlanner.getEndPos(planner);
+        SiteBounds bounds = job.getBounds();
+        BlockPos start = bounds.start();
+        BlockPos end = bounds.end();
 
-        int effectiveEndY = getVerticalScanLimit(start, end.getY());
+        int effectiveEndY = getVerticalScanLimit(runtime, start, end.getY());
+        boolean clipped = effectiveEndY != end.getY() + 1; // a clear column reports one past the end
         boolean scanningDown = effectiveEndY < start.getY();
 
-        int siteMinX = Math.min(start.getX(), end.getX());
-        int siteMaxX = Math.max(start.getX(), end.getX());
-        int siteMinZ = Math.min(start.getZ(), end.getZ());
-        int siteMaxZ = Math.max(start.getZ(), end.getZ());
+        int siteMinX = bounds.minX();
+        int siteMaxX = bounds.maxX();
+        int siteMinZ = bounds.minZ();
+        int siteMaxZ = bounds.maxZ();
 
         AABB site = new AABB(
                 siteMinX,
@@ -279,19 +470,20 @@ public class DroneFluidHandlerGoal extends Goal {
         int startSectionY = start.getY() >> 4;
         int endSectionY = effectiveEndY >> 4;
 
-        initializeResumeStateIfNeeded(startSectionY, siteMinX, siteMinZ);
-
-        ScanContext context = new ScanContext(
-                site, scanningDown, siteMinX, siteMaxX, siteMinZ, siteMaxZ,
-                startSectionY, endSectionY, effectiveEndY, start.getY()
+        return new ScanContext(
+                job, fluids, fluids.currentEpoch(), site, scanningDown, siteMinX, siteMaxX, siteMinZ, siteMaxZ,
+                startSectionY, endSectionY, effectiveEndY, clipped, start.getY()
         );
+    }
 
-        boolean completed = scanSections(context);
-
-        if (completed) {
-            hasResumeState = false;
-            sectionSkipCache.clear();
-        }
+    /**
+     * Whether a pass over {@code ctx} would find nothing new: the last pass
+     * covered every section of the same area and no fluid changed since.
+     */
+    private boolean isUpToDate(ScanContext ctx) {
+        return scannedAll
+                && ctx.effectiveEndY == scannedEndY
+                && !ctx.fluids.hasChangesSince(scannedEpoch);
     }
 
     private void initializeResumeStateIfNeeded(int startSectionY, int siteMinX, int siteMinZ) {
@@ -305,10 +497,8 @@ public class DroneFluidHandlerGoal extends Goal {
     }
 
     private boolean scanSections(ScanContext ctx) {
-        int scanned = 0;
-
         while (shouldContinueSectionY(ctx)) {
-            if (!scanSectionXZ(ctx, scanned)) {
+            if (!scanSectionXZ(ctx)) {
                 return false;
             }
             resumeSecX = ctx.siteMinX >> 4;
@@ -321,27 +511,43 @@ public class DroneFluidHandlerGoal extends Goal {
         return ctx.scanningDown ? resumeSecY >= ctx.endSectionY : resumeSecY <= ctx.endSectionY;
     }
 
-    private boolean scanSectionXZ(ScanContext ctx, int scannedCount) {
+    private boolean scanSectionXZ(ScanContext ctx) {
         while (resumeSecX <= ctx.siteMaxX >> 4) {
-            if (!scanSectionZ(ctx, scannedCount)) return false;
+            if (!scanSectionZ(ctx)) return false;
             resumeSecZ = ctx.siteMinZ >> 4;
             resumeSecX++;
         }
         return true;
     }
 
-    private boolean scanSectionZ(ScanContext ctx, int scannedCount) {
+    private boolean scanSectionZ(ScanContext ctx) {
         while (resumeSecZ <= ctx.siteMaxZ >> 4) {
             long key = SectionPos.asLong(resumeSecX, resumeSecY, resumeSecZ);
-            Boolean skip = sectionSkipCache.computeIfAbsent(key,
-                    k -> shouldSkipSection(resumeSecX, resumeSecY << 4, resumeSecZ));
 
-            if (!skip) {
+            boolean changed = ctx.fluids.changedSince(key, scannedEpoch);
+            if (changed) sectionSkipCache.remove(key);
+
+            if (changed || !scannedSections.contains(key)) {
+                Boolean skip = sectionSkipCache.get(key);
+
+                if (skip == null) {
+                    // Unloaded columns are left to a later pass instead of being loaded by the scan
+                    LevelChunk chunk = drone.level().getChunkSource().getChunkNow(resumeSecX, resumeSecZ);
+                    skip = chunk == null || shouldSkipSection(chunk, resumeSecY << 4);
+                    if (chunk != null) sectionSkipCache.put(key, skip);
+                }
+
                 SectionBounds bounds = calculateSectionBounds(ctx);
-                if (!scanBlocksInSection(ctx, bounds, scannedCount)) {
+                if (!skip && !scanBlocksInSection(ctx, bounds)) {
                     hasResumeState = true;
                     return false;
                 }
+
+                if (sectionSkipCache.containsKey(key) && coversFullHeight(ctx)) {
+                    scannedSections.add(key);
+                } else {
+                    passLeftSections = true;
+                }
             }
 
             resumeSecZ++;
@@ -368,11 +574,21 @@ public class DroneFluidHandlerGoal extends Goal {
         return new SectionBounds(x0, x1, y0, y1, z0, z1);
     }
 
-    private boolean scanBlocksInSection(ScanContext ctx, SectionBounds bounds, int scannedCount) {
+    /**
+     * Whether the pass covered every layer of the current section the site
+     * will ever need, so it only has to be rescanned once its fluids change.
+     * The section holding a clipped scan limit is not: the limit moves as
+     * the quarry opens up.
+     */
+    private boolean coversFullHeight(ScanContext ctx) {
+        return !ctx.clipped || resumeSecY != ctx.effectiveEndY >> 4;
+    }
+
+    private boolean scanBlocksInSection(ScanContext ctx, SectionBounds bounds) {
         if (resumeY == -1) {
             initializeBlockIterators(ctx, bounds);
         }
-        return scanBlocksYXZ(ctx, bounds, scannedCount);
+        return scanBlocksYXZ(ctx, bounds);
     }
 
     private void initializeBlockIterators(ScanContext ctx, SectionBounds bounds) {
@@ -381,9 +597,9 @@ public class DroneFluidHandlerGoal extends Goal {
         resumeZ = bounds.z0;
     }
 
-    private boolean scanBlocksYXZ(ScanContext ctx, SectionBounds bounds, int scannedCount) {
+    private boolean scanBlocksYXZ(ScanContext ctx, SectionBounds bounds) {
         while (shouldContinueY(ctx, bounds)) {
-            if (!scanBlocksXZ(ctx, bounds, scannedCount)) return false;
+            if (!scanBlocksXZ(ctx, bounds)) return false;
             resumeX = bounds.x0;
             resumeY += ctx.scanningDown ? -1 : 1;
         }
@@ -394,50 +610,49 @@ public class DroneFluidHandlerGoal extends Goal {
         return ctx.scanningDown ? resumeY >= bounds.y0 : resumeY <= bounds.y1;
     }
 
-    private boolean scanBlocksXZ(ScanContext ctx, SectionBounds bounds, int scannedCount) {
+    private boolean scanBlocksXZ(ScanContext ctx, SectionBounds bounds) {
         while (resumeX <= bounds.x1) {
-            if (!scanBlocksZ(ctx, bounds, scannedCount)) return false;
+            if (!scanBlocksZ(ctx, bounds)) return false;
             resumeZ = bounds.z0;
             resumeX++;
         }
         return true;
     }
 
-    private boolean scanBlocksZ(ScanContext ctx, SectionBounds bounds, int scannedCount) {
+    private boolean scanBlocksZ(ScanContext ctx, SectionBounds bounds) {
         while (resumeZ <= bounds.z1) {
-            scannedCount++;
-            if (scannedCount > MAX_SCAN_PER_TICK) return false;
+            if (++scannedThisStep > MAX_SCAN_PER_STEP) return false;
 
             BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos(resumeX, resumeY, resumeZ);
             BlockPos threat = analyzeBlockForFluid(cursor, ctx.site);
 
             if (threat != null) {
-                fluidQueue.offer(new FluidThreat(threat, calculatePriority(threat, ctx.site)));
+                if (!fluidBlacklist.contains(threat)) {
+                    fluidQueue.offerIfHigher(threat.asLong(), calculatePriority(threat, ctx.site));
+                }
+                ctx.job.addFluidThreat(threat);
             }
             resumeZ++;
         }
         return true;
     }
 
-    private int getVerticalScanLimit(BlockPos start, int targetY) {
-        Vec3 from = Vec3.atCenterOf(start);
-        Vec3 to = new Vec3(from.x, targetY, from.z);
-
-        BlockHitResult hit = drone.level().clip(new ClipContext(
-                from, to, ClipContext.Block.COLLIDER, ClipContext.Fluid.ANY, drone
-        ));
+    /**
+     * Layer the scan stops at: the first obstruction below (or above) the
+     * start in the start column, or one past the end when the column is clear
+     * or not loaded. Read from the site's column heights instead of tracing.
+     */
+    private int getVerticalScanLimit(SiteRuntime runtime, BlockPos start, int targetY) {
+        int first = runtime.getColumnHeights()
+                .firstObstruction((ServerLevel) drone.level(), start.getX(), start.getZ());
 
-        if (hit.getType() != HitResult.Type.MISS) {
-            return hit.getBlockPos().getY();
+        if (first == SiteColumnHeights.NONE || first == SiteColumnHeights.UNAVAILABLE) {
+            return targetY + 1;
         }
-        return targetY + 1;
+        return first;
     }
 
-    private boolean shouldSkipSection(int secX, int y, int secZ) {
-        Level level = drone.level();
-        LevelChunk chunk = level.getChunk(secX, secZ);
-        if (chunk == null) return true;
-
+    private boolean shouldSkipSection(LevelChunk chunk, int y) {
         int index = chunk.getSectionIndex(y);
         if (index < 0 || index >= chunk.getSectionsCount()) return true;
 
@@ -478,9 +693,10 @@ public class DroneFluidHandlerGoal extends Goal {
             BlockPos next = internal.relative(dir);
 
             if (site.contains(Vec3.atCenterOf(next))) continue;
-            if (level.getFluidState(next).isEmpty()) continue;
+            if (!level.isLoaded(next) || level.getFluidState(next).isEmpty()) continue;
 
             BlockPos resolved = resolveLeakPath(next, site);
+            if (resolved != null) leakEntries.add(next.asLong());
             if (resolved != null && !isBlacklistedAndBlocked(resolved)) {
                 return resolved;
             }
@@ -488,33 +704,64 @@ public class DroneFluidHandlerGoal extends Goal {
         return null;
     }
 
+    /**
+     * Follows the fluid connected to {@code start} breadth-first, for at most
+     * {@value #MAX_TRACE_NODES} cells, to a cell outside the site columns or a
+     * replaceable source. Every cell the trace expanded belongs to the same
+     * body of fluid and shares its answer for the rest of the pass, so a
+     * source is traced once however many flowing blocks lead to it. Cells
+     * only seen on the frontier are not memoized, and neither is a "no
+     * source" answer from a trace cut short by the node limit: a trace
+     * started closer to the source may still find it.
+     */
     @Nullable
     private BlockPos resolveLeakPath(BlockPos start, AABB site) {
+        long startKey = start.asLong();
+        long memo = leakMemo.get(startKey);
+        if (memo != UNTRACED) return memo == NO_SOURCE ? null : BlockPos.of(memo);
+
         Level level = drone.level();
-        Queue<BlockPos> queue = new ArrayDeque<>();
-        Set<BlockPos> visited = new HashSet<>();
+        traceQueue.clear();
+        traceVisited.clear();
+        traceExpanded.clear();
 
-        queue.add(start);
-        visited.add(start);
+        traceQueue.enqueue(startKey);
+        traceVisited.add(startKey);
 
+        long found = NO_SOURCE;
         int steps = 0;
-        while (!queue.isEmpty() && steps++ < MAX_TRACE_NODES) {
-            BlockPos pos = queue.poll();
-
-            if (!isInsideHorizontal(site, pos)) return pos;
+        while (!traceQueue.isEmpty() && steps++ < MAX_TRACE_NODES) {
+            long key = traceQueue.dequeueLong();
+            traceExpanded.add(key);
+            traceCursor.set(key);
+
+            if (!isInsideHorizontal(site, traceCursor)) {
+                found = key;
+                break;
+            }
 
-            FluidState fluid = level.getFluidState(pos);
-            if (fluid.isSource() && level.getBlockState(pos).canBeReplaced()) {
-                return pos;
+            FluidState fluid = level.getFluidState(traceCursor);
+            if (fluid.isSource() && level.getBlockState(traceCursor).canBeReplaced()) {
+                found = key;
+                break;
             }
 
             for (Direction dir : TRACE_DIRECTIONS) {
-                BlockPos next = pos.relative(dir);
-                if (!visited.add(next)) continue;
-                if (!level.getFluidState(next).isEmpty()) queue.add(next);
+                long next = BlockPos.offset(key, dir);
+                if (!traceVisited.add(next)) continue;
+
+                traceCursor.set(next);
+                if (level.isLoaded(traceCursor) && !level.getFluidState(traceCursor).isEmpty()) {
+                    traceQueue.enqueue(next);
+                }
             }
         }
-        return null;
+
+        boolean truncated = found == NO_SOURCE && !traceQueue.isEmpty();
+        if (!truncated) {
+            for (int i = 0; i < traceExpanded.size(); i++) leakMemo.put(traceExpanded.getLong(i), found);
+        }
+        return found == NO_SOURCE ? null : BlockPos.of(found);
     }
 
     private boolean isInsideHorizontal(AABB site, BlockPos pos) {
@@ -545,8 +792,7 @@ public class DroneFluidHandlerGoal extends Goal {
         int slot = drone.getLogic().findSlotWithFluidRemoverBlock();
         if (slot == -1) return false;
 
-        ItemStack stack = drone.getInventory().getStackInSlot(slot);
-        return drone.getLogic().placeBlock(pos, stack);
+        return drone.getLogic().placeBlock(pos, slot);
     }
 
     private boolean isDroneInTheWay(BlockPos pos) {
@@ -562,7 +808,12 @@ public class DroneFluidHandlerGoal extends Goal {
 
     private void blacklistPositionAndAdjacent(BlockPos pos) {
         fluidBlacklist.add(pos);
-        for (Direction dir : TRACE_DIRECTIONS) fluidBlacklist.add(pos.relative(dir));
+        fluidQueue.remove(pos.asLong());
+        for (Direction dir : TRACE_DIRECTIONS) {
+            BlockPos adjacent = pos.relative(dir);
+            fluidBlacklist.add(adjacent);
+            fluidQueue.remove(adjacent.asLong());
+        }
     }
 
     private void removeFromBlacklistWithAdjacent(BlockPos pos) {
@@ -571,22 +822,58 @@ public class DroneFluidHandlerGoal extends Goal {
     }
 
     /* ----------------------
-       Aux classes / records
+       Scheduled scan
        ---------------------- */
 
-    private record FluidThreat(BlockPos pos, int priority) implements Comparable<FluidThreat> {
+    /** Runs one slice of the fluid scan per scheduler step. */
+    private class FluidScanUnit implements WorkUnit {
         @Override
-        public int compareTo(FluidThreat o) {
-            return Integer.compare(o.priority, this.priority);
+        public Result step() {
+            if (!activationCondition.test(drone.getState())) {
+                hasResumeState = false;
+                activeScan = null;
+                containment.reset();
+                scanScheduled = false;
+                return Result.DONE;
+            }
+
+            if (containment.isRunning()) {
+                if (!containment.advance()) return Result.MORE;
+                applyContainmentPlan();
+                scanScheduled = false;
+                return Result.DONE;
+            }
+
+            if (scanForFluidThreats()) {
+                if (leakEntries.size() >= CONTAINMENT_MIN_LEAKS && containmentSite != null) {
+                    containment.start(drone.level(), containmentSite, leakEntries);
+                    return Result.MORE;
+                }
+                scanScheduled = false;
+                return Result.DONE;
+            }
+            return Result.MORE;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return drone.isRemoved();
         }
     }
 
-    private record ScanContext(AABB site,
+    /* ----------------------
+       Aux classes / records
+       ---------------------- */
+
+    private record ScanContext(SiteJob job,
+                               SiteFluidSections fluids,
+                               long passEpoch,
+                               AABB site,
                                boolean scanningDown,
                                int siteMinX, int siteMaxX,
                                int siteMinZ, int siteMaxZ,
                                int startSectionY, int endSectionY,
-                               int effectiveEndY, int startY) { }
+                               int effectiveEndY, boolean clipped, int startY) { }
 
     private record SectionBounds(int x0, int x1, int y0, int y1, int z0, int z1) { }
 }
@@ -1,16 +1,25 @@
 package com.uemc.assistance_drone.entities.drone.goals;
 
 import com.uemc.assistance_drone.entities.drone.DroneEntity;
+import com.uemc.assistance_drone.entities.drone.MiningProgress;
 import com.uemc.assistance_drone.items.SitePlanner;
+import com.uemc.assistance_drone.site.SiteBounds;
+import com.uemc.assistance_drone.site.SiteChunkTickets;
+import com.uemc.assistance_drone.site.SiteFlowField;
+import com.uemc.assistance_drone.site.SiteJob;
+import com.uemc.assistance_drone.site.SiteLeases;
+import com.uemc.assistance_drone.site.SiteMiningIndex;
+import com.uemc.assistance_drone.site.SiteRuntime;
+import com.uemc.assistance_drone.site.SpiralCursor;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.ai.goal.Goal;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.Vec3;
 
+import javax.annotation.Nullable;
 import java.util.EnumSet;
-import java.util.LinkedList;
-import java.util.Queue;
 import java.util.function.Predicate;
 
 /**
@@ -27,8 +36,20 @@ import java.util.function.Predicate;
  * </ul>
  *
  * <p>
- * Navigation uses a lightweight Manhattan-style waypoint strategy to avoid
- * trivial pathfinding stalls while keeping movement predictable.
+ * Drones sharing a site coordinate through its {@link SiteLeases}: each one
+ * starts the layer spiral at a different offset and only mines cells it
+ * holds the lease on.
+ * </p>
+ *
+ * <p>
+ * Targets that cannot be reached directly are approached through the site's
+ * shared {@link SiteFlowField}, which leads to the plane above the working
+ * layer without digging through blocks out of plan order.
+ * </p>
+ *
+ * <p>
+ * While work remains the goal keeps the site's {@link SiteChunkTickets}
+ * (if enabled) and releases them once the traversal is finished.
  * </p>
  *
  * @see DroneEntity
@@ -36,6 +57,9 @@ import java.util.function.Predicate;
  */
 public class DroneMineGoal extends Goal {
 
+    /** Retry delay while the shared site index is still being built. */
+    private static final int INDEX_PENDING_COOLDOWN = 5;
+
     private final DroneEntity drone;
     private final Predicate<String> activationCondition;
 
@@ -44,12 +68,13 @@ public class DroneMineGoal extends Goal {
        ---------------------- */
 
     private int checkCooldown = 0;
+    private SiteRuntime site = null;
 
     private BlockPos currentJobTarget = null;
     private BlockPos obstacleTarget = null;
 
     /* Navigation strategy */
-    private final Queue<BlockPos> waypoints = new LinkedList<>();
+    private boolean followingField = false;
     private final SpiralLayerIterator layerIterator;
 
     public DroneMineGoal(DroneEntity drone, Predicate<String> activationCondition) {
@@ -71,8 +96,19 @@ public class DroneMineGoal extends Goal {
         if (!SitePlanner.isConfigured(planner)) return false;
 
         if (this.checkCooldown-- > 0) return false;
+        // Blocks are being removed in bulk for the time the chunk was unloaded
+        if (drone.getLogic().isFastForwarding()) return false;
+
+        SiteRuntime runtime = drone.getLogic().getSite();
+        if (runtime == null) return false;
+
+        SiteMiningIndex index = runtime.getMiningIndex();
+        if (!index.isReady()) {
+            this.checkCooldown = INDEX_PENDING_COOLDOWN;
+            return false;
+        }
 
-        if (hasMiningTargets(planner)) {
+        if (index.hasRemaining()) {
             this.checkCooldown = 20;
             return true;
         } else {
@@ -84,6 +120,7 @@ public class DroneMineGoal extends Goal {
     @Override
     public boolean canContinueToUse() {
         return activationCondition.test(drone.getState())
+                && !drone.getLogic().isFastForwarding()
                 && (this.obstacleTarget != null
                 || this.currentJobTarget != null
                 || !this.layerIterator.isFinished());
@@ -93,22 +130,38 @@ public class DroneMineGoal extends Goal {
     public void start() {
         this.currentJobTarget = null;
         this.obstacleTarget = null;
-        this.waypoints.clear();
+        this.followingField = false;
 
-        ItemStack planner = drone.getInventory().getStackInSlot(0);
-        BlockPos start = SitePlanner.getStartPos(planner);
-        BlockPos end = SitePlanner.getEndPos(planner);
+        this.site = drone.getLogic().getSite();
+
+        if (this.site != null) {
+            this.site.getLeases().join(drone.getUUID(), drone.level().getGameTime());
+
+            SiteBounds bounds = this.site.getBounds();
+            MiningProgress saved = drone.getMiningProgress();
 
-        if (start != null && end != null) {
-            this.layerIterator.reset(start, end);
+            SiteJob job = drone.getLogic().getSiteJob();
+
+            if (saved != null && saved.siteFingerprint() == bounds.fingerprint()) {
+                this.layerIterator.resume(bounds, saved.layerY(), saved.spiralIndex(), saved.spiralOffset());
+            } else if (job != null && job.getProgressLayer() != SiteJob.NO_LAYER) {
+                // New to this site: join the others where the quarry stands
+                this.layerIterator.resume(bounds, job.getProgressLayer(), 0, -1);
+            } else {
+                this.layerIterator.reset(bounds);
+            }
         }
     }
 
     @Override
     public void stop() {
+        if (this.site != null) {
+            this.site.getLeases().leave(drone.getUUID());
+        }
+        this.site = null;
         this.currentJobTarget = null;
         this.obstacleTarget = null;
-        this.waypoints.clear();
+        this.followingField = false;
 
         drone.getLogic().resetMiningState();
         drone.getNavigation().stop();
@@ -132,6 +185,21 @@ public class DroneMineGoal extends Goal {
         Level level = this.drone.level();
         if (level.isClientSide) return;
 
+        if (site != null) {
+            site.getLeases().join(drone.getUUID(), level.getGameTime());
+
+            SiteJob job = drone.getLogic().getSiteJob();
+            if (job != null) SiteChunkTickets.hold((ServerLevel) level, job);
+
+            // A stalled drone may have lost its target to another one, which may have mined it
+            if (currentJobTarget != null
+                    && (!drone.getLogic().isValidMiningTarget(currentJobTarget)
+                    || !site.getLeases().tryAcquire(currentJobTarget, drone.getUUID(), level.getGameTime()))) {
+                currentJobTarget = null;
+                drone.getLogic().resetMiningState();
+            }
+        }
+
         BlockPos suffocating = drone.getLogic().getSuffocatingBlock();
         if (suffocating != null) {
             obstacleTarget = suffocating;
@@ -142,11 +210,25 @@ public class DroneMineGoal extends Goal {
 
         if (activeTarget == null) {
             BlockPos next = this.layerIterator.next();
+            if (this.site != null) {
+                MiningProgress progress = this.layerIterator.snapshot();
+                drone.setMiningProgress(progress);
+
+                SiteJob job = drone.getLogic().getSiteJob();
+                if (job != null) {
+                    job.setProgressLayer(progress.layerY());
+                    // Nothing left to mine: let the chunks unload again, unless some
+                    // were never indexed and the tickets are what will load them
+                    if (next == null && layerIterator.isFinished() && site.getMiningIndex().isComplete()) {
+                        SiteChunkTickets.release((ServerLevel) level, job);
+                    }
+                }
+            }
             if (next == null) return;
 
             this.currentJobTarget = next;
             activeTarget = next;
-            this.waypoints.clear();
+            this.followingField = false;
         }
 
         Vec3 targetVec = Vec3.atCenterOf(activeTarget);
@@ -155,12 +237,16 @@ public class DroneMineGoal extends Goal {
         if (drone.getLogic().isInRangeToInteract(activeTarget)) {
             drone.getNavigation().stop();
 
-            boolean broken = drone.getLogic().mineBlock(activeTarget);
+            // Only job targets may widen into a patch; obstacles are cleared one by one
+            SiteBounds patchArea = (activeTarget == currentJobTarget && site != null)
+                    ? site.getBounds() : null;
+            boolean broken = drone.getLogic().mineBlock(activeTarget, patchArea);
 
             if (broken) {
                 if (obstacleTarget != null) {
                     obstacleTarget = null;
                 } else {
+                    if (site != null) site.getLeases().release(currentJobTarget, drone.getUUID());
                     currentJobTarget = null;
                 }
             }
@@ -180,91 +266,55 @@ public class DroneMineGoal extends Goal {
             return;
         }
 
-        if (waypoints.isEmpty()) {
-            if (drone.getLogic().isBlockAccessible(target)) {
-                drone.getLogic().executeMovement(Vec3.atCenterOf(target));
-            } else {
-                calculateCornerPath(drone.blockPosition(), target);
+        if (followingField) {
+            BlockPos step = nextFieldStep();
+            if (step != null) {
+                drone.getLogic().executeMovement(Vec3.atCenterOf(step));
+                return;
             }
-            return;
+            // On the working plane, or the field no longer leads anywhere
+            followingField = false;
         }
 
-        BlockPos nextCorner = waypoints.peek();
+        switch (drone.getLogic().checkReachability(target)) {
+            case REACHABLE -> drone.getLogic().executeMovement(Vec3.atCenterOf(target));
+            case UNREACHABLE -> handleUnreachable(target);
+            case PENDING -> drone.getLogic().hover();
+        }
+    }
 
-        if (drone.blockPosition().distManhattan(nextCorner) <= 1) {
-            waypoints.poll();
+    /**
+     * Follows the flow field while it leads somewhere. Once on the working
+     * plane, only blocks of the site itself may be cleared out of the way;
+     * anything else is left to the path planner.
+     */
+    private void handleUnreachable(BlockPos target) {
+        BlockPos step = nextFieldStep();
+        if (step != null) {
+            followingField = true;
+            drone.getLogic().executeMovement(Vec3.atCenterOf(step));
             return;
         }
 
-        BlockPos obstruction =
-                drone.getLogic().getObstructionBlock(nextCorner);
+        BlockPos obstruction = drone.getLogic().getObstructionBlock(target);
 
         if (obstruction != null
+                && site != null
+                && site.getBounds().contains(obstruction)
                 && drone.getLogic().isValidMiningTarget(obstruction)) {
             this.obstacleTarget = obstruction;
             return;
         }
 
-        drone.getLogic().executeMovement(Vec3.atCenterOf(nextCorner));
-    }
-
-    /**
-     * Computes a simple L-shaped Manhattan path:
-     * X → Z → Y alignment.
-     * This avoids trivial navigation stalls without invoking heavy pathfinding.
-     */
-    private void calculateCornerPath(BlockPos start, BlockPos end) {
-        waypoints.clear();
-
-        int x = start.getX();
-        int y = start.getY();
-        int z = start.getZ();
-
-        if (x != end.getX()) {
-            x = end.getX();
-            waypoints.add(new BlockPos(x, y, z));
-        }
-        if (z != end.getZ()) {
-            z = end.getZ();
-            waypoints.add(new BlockPos(x, y, z));
-        }
-        if (y != end.getY()) {
-            waypoints.add(new BlockPos(x, end.getY(), z));
-        }
-
-        if (waypoints.isEmpty() || !waypoints.contains(end)) {
-            waypoints.add(end);
-        }
+        drone.getLogic().executeMovement(Vec3.atCenterOf(target));
     }
 
-    /* ----------------------
-       Target detection
-       ---------------------- */
+    @Nullable
+    private BlockPos nextFieldStep() {
+        if (site == null) return null;
 
-    private boolean hasMiningTargets(ItemStack planner) {
-        BlockPos start = SitePlanner.getStartPos(planner);
-        BlockPos end = SitePlanner.getEndPos(planner);
-
-        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
-
-        int minX = Math.min(start.getX(), end.getX());
-        int maxX = Math.max(start.getX(), end.getX());
-        int minY = Math.min(start.getY(), end.getY());
-        int maxY = Math.max(start.getY(), end.getY());
-        int minZ = Math.min(start.getZ(), end.getZ());
-        int maxZ = Math.max(start.getZ(), end.getZ());
-
-        for (int y = maxY; y >= minY; y--) {
-            for (int x = minX; x <= maxX; x++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    cursor.set(x, y, z);
-                    if (drone.getLogic().isValidMiningTarget(cursor)) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
+        SiteFlowField field = site.getFlowField();
+        return field.nextStep(drone.blockPosition());
     }
 
     /* ----------------------
@@ -276,121 +326,148 @@ public class DroneMineGoal extends Goal {
      * The iterator:
      * <ul>
      *     <li>Processes one Y layer at a time.</li>
-     *     <li>Traverses each layer in spiral order.</li>
-     *     <li>Delegates block validity checks to DroneAiLogic.</li>
+     *     <li>Traverses each layer in spiral order through a closed-form
+     *         {@link SpiralCursor}, so memory use is constant per drone.
+     *         Each participant of the site starts at its own offset along
+     *         the spiral and wraps around.</li>
+     *     <li>Only returns cells whose site lease it could take, and only
+     *         moves on once the index reports the layer empty: while the
+     *         rest of a layer is leased by other drones it returns
+     *         {@code null} and the drone waits.</li>
+     *     <li>Skips cells the site index reports as already mined without
+     *         reading the world.</li>
+     *     <li>Picks up cells that became minable behind the cursor with a
+     *         bitset sweep instead of re-walking the layer.</li>
+     *     <li>Delegates the final block validity check to DroneAiLogic.</li>
      * </ul>
      */
     private static class SpiralLayerIterator {
 
-        private final Queue<BlockPos> queue = new LinkedList<>();
         private final DroneMineGoal goal;
+        private final BlockPos.MutableBlockPos cursorPos = new BlockPos.MutableBlockPos();
 
-        private int currentY, endY, startY;
-        private int rawStartX, rawStartZ, rawEndX, rawEndZ;
-        private boolean finished = false;
+        private SiteBounds bounds;
+        private SpiralCursor cursor;
+        private int currentY, endY, step;
+        private int spiralIndex;
+        private int spiralOffset;
+        private boolean finished = true;
 
         public SpiralLayerIterator(DroneMineGoal goal) {
             this.goal = goal;
         }
 
-        public void reset(BlockPos start, BlockPos end) {
-            this.startY = start.getY();
-            this.endY = end.getY();
-            this.currentY = startY;
-            this.rawStartX = start.getX();
-            this.rawStartZ = start.getZ();
-            this.rawEndX = end.getX();
-            this.rawEndZ = end.getZ();
+        public void reset(SiteBounds bounds) {
+            this.bounds = bounds;
+            this.cursor = new SpiralCursor(bounds);
+            this.endY = bounds.end().getY();
+            this.step = (endY > bounds.start().getY()) ? 1 : -1;
+            this.currentY = bounds.start().getY();
+            this.spiralIndex = 0;
+            this.spiralOffset = computeOffset();
             this.finished = false;
-            this.queue.clear();
-            generateSpiralForLayer(currentY);
         }
 
+        /** Splits the spiral evenly between the drones working the site. */
+        private int computeOffset() {
+            if (goal.site == null) return 0;
+
+            SiteLeases.Slot slot = goal.site.getLeases()
+                    .slotOf(goal.drone.getUUID(), goal.drone.level().getGameTime());
+            return (int) ((long) slot.index() * cursor.size() / slot.count());
+        }
+
+        /**
+         * Restores a persisted traversal position.
+         * <p>
+         * Layers between the start and the saved layer are normally empty,
+         * but blocks may have appeared there meanwhile (e.g. sealant placed
+         * by the fluid goal). The first such layer wins, so nothing is left
+         * behind; otherwise the saved layer, spiral index and offset are used.
+         *
+         * @param offset saved spiral offset, or {@code -1} to keep this drone's share of the site
+         */
+        public void resume(SiteBounds bounds, int layerY, int index, int offset) {
+            reset(bounds);
+
+            int minY = Math.min(bounds.start().getY(), endY);
+            int maxY = Math.max(bounds.start().getY(), endY);
+            if (layerY < minY || layerY > maxY) return;
+
+            SiteMiningIndex miningIndex = goal.site.getMiningIndex();
+            while (currentY != layerY) {
+                if (miningIndex.hasRemainingInLayer(currentY)) return;
+                currentY += step;
+            }
+            spiralIndex = Math.max(0, Math.min(index, cursor.size()));
+            if (offset >= 0) spiralOffset = offset % cursor.size();
+        }
+
+        /**
+         * Captures the current position. The spiral index points at the last
+         * returned cell so an interrupted target is revisited first.
+         */
+        public MiningProgress snapshot() {
+            return new MiningProgress(currentY, Math.max(0, spiralIndex - 1), spiralOffset, bounds.fingerprint());
+        }
+
+        @Nullable
         public BlockPos next() {
-            if (finished) return null;
+            if (finished || goal.site == null) return null;
 
-            while (!queue.isEmpty()) {
-                BlockPos pos = queue.poll();
-                if (goal.drone.getLogic().isValidMiningTarget(pos)) {
-                    return pos;
+            SiteMiningIndex index = goal.site.getMiningIndex();
+
+            while (true) {
+                if (index.hasRemainingInLayer(currentY)) {
+                    BlockPos found = nextInSpiral(index);
+                    if (found == null) found = nextBehindCursor(index);
+                    // The rest of the layer is leased by other drones: wait for it
+                    // instead of digging below an unfinished layer
+                    return found;
                 }
-            }
 
-            if (hasBlocksLeftInLayer(currentY)) {
-                generateSpiralForLayer(currentY);
-                return next();
-            }
+                if (currentY == endY) {
+                    finished = true;
+                    return null;
+                }
 
-            if (currentY == endY) {
-                finished = true;
-                return null;
+                currentY += step;
+                spiralIndex = 0;
+                spiralOffset = computeOffset();
             }
-
-            currentY += (endY > startY) ? 1 : -1;
-            generateSpiralForLayer(currentY);
-            return next();
         }
 
         public boolean isFinished() {
             return finished;
         }
 
-        private boolean hasBlocksLeftInLayer(int y) {
-            int minX = Math.min(rawStartX, rawEndX);
-            int maxX = Math.max(rawStartX, rawEndX);
-            int minZ = Math.min(rawStartZ, rawEndZ);
-            int maxZ = Math.max(rawStartZ, rawEndZ);
-
-            for (int x = minX; x <= maxX; x++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    BlockPos p = new BlockPos(x, y, z);
-                    if (goal.drone.getLogic().isValidMiningTarget(p)) {
-                        return true;
-                    }
-                }
+        private BlockPos nextInSpiral(SiteMiningIndex index) {
+            while (spiralIndex < cursor.size()) {
+                cursor.positionAt((spiralOffset + spiralIndex++) % cursor.size(), currentY, cursorPos);
+                if (isTarget(index)) return cursorPos.immutable();
             }
-            return false;
+            return null;
         }
 
-        private void generateSpiralForLayer(int y) {
-            queue.clear();
-
-            int currentMinX = Math.min(rawStartX, rawEndX);
-            int currentMaxX = Math.max(rawStartX, rawEndX);
-            int currentMinZ = Math.min(rawStartZ, rawEndZ);
-            int currentMaxZ = Math.max(rawStartZ, rawEndZ);
-
-            int direction;
-            if (rawStartX == currentMinX && rawStartZ == currentMinZ) direction = 0;
-            else if (rawStartX == currentMaxX && rawStartZ == currentMinZ) direction = 1;
-            else if (rawStartX == currentMaxX && rawStartZ == currentMaxZ) direction = 2;
-            else direction = 3;
-
-            while (currentMinX <= currentMaxX && currentMinZ <= currentMaxZ) {
-                switch (direction) {
-                    case 0 -> {
-                        for (int x = currentMinX; x <= currentMaxX; x++)
-                            queue.add(new BlockPos(x, y, currentMinZ));
-                        currentMinZ++;
-                    }
-                    case 1 -> {
-                        for (int z = currentMinZ; z <= currentMaxZ; z++)
-                            queue.add(new BlockPos(currentMaxX, y, z));
-                        currentMaxX--;
-                    }
-                    case 2 -> {
-                        for (int x = currentMaxX; x >= currentMinX; x--)
-                            queue.add(new BlockPos(x, y, currentMaxZ));
-                        currentMaxZ--;
-                    }
-                    case 3 -> {
-                        for (int z = currentMaxZ; z >= currentMinZ; z--)
-                            queue.add(new BlockPos(currentMinX, y, z));
-                        currentMinX++;
-                    }
-                }
-                direction = (direction + 1) % 4;
+        private BlockPos nextBehindCursor(SiteMiningIndex index) {
+            int column = index.nextInLayer(currentY, 0);
+            while (column >= 0) {
+                cursorPos.set(
+                        bounds.minX() + column % bounds.sizeX(),
+                        currentY,
+                        bounds.minZ() + column / bounds.sizeX()
+                );
+                if (isTarget(index)) return cursorPos.immutable();
+                column = index.nextInLayer(currentY, column + 1);
             }
+            return null;
+        }
+
+        private boolean isTarget(SiteMiningIndex index) {
+            return index.isMinable(cursorPos.getX(), cursorPos.getY(), cursorPos.getZ())
+                    && goal.drone.getLogic().isValidMiningTarget(cursorPos)
+                    && goal.site.getLeases().tryAcquire(
+                            cursorPos, goal.drone.getUUID(), goal.drone.level().getGameTime());
         }
     }
 }
@@ -1,12 +1,12 @@
 package com.uemc.assistance_drone.entities.drone.goals;
 
+import com.mojang.logging.LogUtils;
 import com.uemc.assistance_drone.entities.drone.DroneEntity;
 import com.uemc.assistance_drone.items.SitePlanner;
-import net.minecraft.core.BlockPos;
+import com.uemc.assistance_drone.site.SiteRuntime;
 import net.minecraft.world.entity.ai.goal.Goal;
 import net.minecraft.world.entity.item.ItemEntity;
-import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.phys.AABB;
+import org.slf4j.Logger;
 
 import java.util.*;
 import java.util.function.Predicate;
@@ -14,23 +14,32 @@ import java.util.function.Predicate;
 /**
  * Goal responsible for autonomous item pickup within the configured work area.
  * <p>
- * Maintains a bounded priority queue of nearby item entities sorted by distance.
- * Uses lightweight caching for inventory checks and periodic queue refreshes
- * to avoid excessive entity queries.
+ * Follows a collection route over the drops closest to the drone, planned by
+ * {@link PickupRoutePlanner} to fit one inventory load and shortened with
+ * bounded 2-opt work every tick while the drone flies it. Candidates come
+ * from the site item index, which only reads the cells around the drone
+ * instead of querying the whole site box; inventory space checks are
+ * answered directly by the drone inventory index.
+ * <p>
+ * Every finished route is logged at debug level with the items collected,
+ * the ticks spent per item and the route length before and after 2-opt, so
+ * the effect of route planning on flight time can be checked in game.
  *
  * @see DroneEntity
  * @see SitePlanner
  */
 public class DronePickupGoal extends Goal {
 
+    private static final Logger LOGGER = LogUtils.getLogger();
+
     /* ------------------------------------------------------------ */
     /* Tuning                                                       */
     /* ------------------------------------------------------------ */
 
-    private static final int MAX_TARGET_QUEUE_SIZE = 16;
+    private static final int MAX_ROUTE_CANDIDATES = 64;
+    private static final int ROUTE_IMPROVE_CHECKS_PER_TICK = 256;
     private static final double PICKUP_RANGE_SQUARED = 2.25;
     private static final int QUEUE_REFRESH_INTERVAL = 20;
-    private static final int INVENTORY_CACHE_TICKS = 10;
     private static final int TARGET_TIMEOUT_TICKS = 200;
     private static final int ACTIVATION_COOLDOWN_TICKS = 100;
 
@@ -41,7 +50,8 @@ public class DronePickupGoal extends Goal {
     private final DroneEntity drone;
     private final Predicate<String> activationCondition;
 
-    private final Queue<ItemEntity> targetQueue = new LinkedList<>();
+    private final PickupRoutePlanner route = new PickupRoutePlanner();
+    private final List<ItemEntity> candidates = new ArrayList<>(MAX_ROUTE_CANDIDATES);
 
     private ItemEntity currentTarget;
     private ItemEntity previousTarget;
@@ -49,11 +59,14 @@ public class DronePickupGoal extends Goal {
     private int activationCooldownTicks = 0;
     private int queueRefreshTicks = 0;
 
-    private boolean cachedInventorySpace = true;
-    private int inventoryCacheTicks = 0;
-
     private int targetTimeoutTicks = 0;
 
+    /* Measurements of the route being flown, see finishRoute */
+    private int routePlannedStops = 0;
+    private int routeCollected = 0;
+    private double routePlannedLength = 0.0;
+    private long routeStartTick = 0L;
+
     public DronePickupGoal(DroneEntity drone, Predicate<String> activationCondition) {
         this.drone = drone;
         this.activationCondition = activationCondition;
@@ -72,24 +85,22 @@ public class DronePickupGoal extends Goal {
         activationCooldownTicks = ACTIVATION_COOLDOWN_TICKS;
 
         if (drone.getNavigation().isStuck()) return false;
-        if (!hasInventorySpaceCached()) return false;
+        if (!drone.getLogic().hasAnyInventorySpace()) return false;
 
-        return !targetQueue.isEmpty() || refreshTargetQueue();
+        return !route.isEmpty() || planRoute();
     }
 
     @Override
     public void start() {
         queueRefreshTicks = QUEUE_REFRESH_INTERVAL;
-        invalidateInventoryCache();
         selectNextTarget();
     }
 
     @Override
     public void stop() {
         currentTarget = null;
-        targetQueue.clear();
+        finishRoute();
         drone.getNavigation().stop();
-        invalidateInventoryCache();
     }
 
     @Override
@@ -106,7 +117,7 @@ public class DronePickupGoal extends Goal {
             targetTimeoutTicks = TARGET_TIMEOUT_TICKS;
         }
 
-        return hasInventorySpaceCached();
+        return drone.getLogic().hasAnyInventorySpace();
     }
 
     /* ------------------------------------------------------------ */
@@ -116,16 +127,14 @@ public class DronePickupGoal extends Goal {
     @Override
     public void tick() {
 
-        if (inventoryCacheTicks > 0) {
-            inventoryCacheTicks--;
-        }
-
-        if (!cachedInventorySpace) {
-            targetQueue.clear();
+        if (!drone.getLogic().hasAnyInventorySpace()) {
+            finishRoute();
             currentTarget = null;
             return;
         }
 
+        route.improve(ROUTE_IMPROVE_CHECKS_PER_TICK);
+
         if (!isValidTarget(currentTarget)) {
             selectNextTarget();
         }
@@ -142,21 +151,20 @@ public class DronePickupGoal extends Goal {
             boolean pickedUp = drone.getLogic().itemPickUp();
 
             if (pickedUp) {
-                invalidateInventoryCache();
+                routeCollected++;
                 selectNextTarget();
             } else if (!drone.getLogic()
                     .hasInventorySpaceFor(currentTarget.getItem())) {
 
-                targetQueue.clear();
+                finishRoute();
                 currentTarget = null;
-                cachedInventorySpace = false;
             }
         }
 
         // Queue refresh countdown
-        if (queueRefreshTicks-- <= 0 && targetQueue.isEmpty()) {
+        if (queueRefreshTicks-- <= 0 && route.isEmpty()) {
             queueRefreshTicks = QUEUE_REFRESH_INTERVAL;
-            refreshTargetQueue();
+            planRoute();
         }
     }
 
@@ -167,8 +175,8 @@ public class DronePickupGoal extends Goal {
     private void selectNextTarget() {
         currentTarget = null;
 
-        while (!targetQueue.isEmpty()) {
-            ItemEntity candidate = targetQueue.poll();
+        while (!route.isEmpty()) {
+            ItemEntity candidate = route.poll();
             if (isValidTarget(candidate)) {
                 currentTarget = candidate;
                 break;
@@ -177,48 +185,58 @@ public class DronePickupGoal extends Goal {
 
         if (currentTarget != null) {
             targetTimeoutTicks = TARGET_TIMEOUT_TICKS;
-            drone.getNavigation().moveTo(currentTarget, 1.0D);
+            drone.getLogic().executeMovement(currentTarget.position());
+        } else {
+            finishRoute();
         }
     }
 
     /**
-     * Rebuilds the pickup queue from items inside the configured planner area.
+     * Plans a collection route over the items of the configured planner area
+     * closest to the drone, read from the site item index.
      */
-    private boolean refreshTargetQueue() {
-        targetQueue.clear();
-
-        ItemStack planner = drone.getInventory().getStackInSlot(0);
-        if (!SitePlanner.isConfigured(planner)) return false;
-
-        BlockPos start = SitePlanner.getStartPos(planner);
-        BlockPos end = SitePlanner.getEndPos(planner);
-
-        AABB searchArea =
-                new AABB(start).minmax(new AABB(end))
-                        .expandTowards(1, 1, 1);
-
-        List<ItemEntity> items =
-                drone.level().getEntitiesOfClass(
-                        ItemEntity.class,
-                        searchArea
-                );
-
-        if (items.isEmpty()) return false;
-
-        items.sort(Comparator.comparingDouble(drone::distanceToSqr));
-
-        int added = 0;
-        for (ItemEntity item : items) {
-            if (added >= MAX_TARGET_QUEUE_SIZE) break;
-            if (!isValidTarget(item)) continue;
-            if (!drone.getLogic()
-                    .hasInventorySpaceFor(item.getItem())) continue;
+    private boolean planRoute() {
+        finishRoute();
+
+        SiteRuntime site = drone.getLogic().getSite();
+        if (site == null) return false;
+
+        candidates.clear();
+        site.getItemIndex().collectNearest(
+                site.getLevel(),
+                drone.position(),
+                MAX_ROUTE_CANDIDATES,
+                item -> isValidTarget(item) && drone.getLogic().hasInventorySpaceFor(item.getItem()),
+                candidates
+        );
+
+        route.plan(drone.position(), candidates, drone.getInventory().snapshot());
+        candidates.clear();
+
+        routePlannedStops = route.remaining();
+        routePlannedLength = route.remainingLength();
+        routeCollected = 0;
+        routeStartTick = drone.level().getGameTime();
+        return !route.isEmpty();
+    }
 
-            targetQueue.add(item);
-            added++;
+    /**
+     * Clears the route and logs how it went: items collected out of those
+     * planned, ticks per collected item and the nearest-neighbour length
+     * against the length after 2-opt.
+     */
+    private void finishRoute() {
+        if (routePlannedStops > 0 && LOGGER.isDebugEnabled()) {
+            long ticks = drone.level().getGameTime() - routeStartTick;
+            LOGGER.debug("Pickup route of {}: {}/{} items in {} ticks ({} ticks/item), {} blocks planned, {} after 2-opt{}",
+                    drone.getUUID(), routeCollected, routePlannedStops, ticks,
+                    routeCollected == 0 ? "-" : String.format("%.1f", (double) ticks / routeCollected),
+                    String.format("%.1f", routePlannedLength),
+                    String.format("%.1f", routePlannedLength - route.improvedBy()),
+                    route.isConverged() ? "" : " (not converged)");
         }
-
-        return !targetQueue.isEmpty();
+        routePlannedStops = 0;
+        route.clear();
     }
 
     private boolean isValidTarget(ItemEntity item) {
@@ -227,30 +245,10 @@ public class DronePickupGoal extends Goal {
                 && !item.getItem().isEmpty();
     }
 
-    /* ------------------------------------------------------------ */
-    /* Inventory Cache                                              */
-    /* ------------------------------------------------------------ */
-
-    private boolean hasInventorySpaceCached() {
-        if (inventoryCacheTicks-- > 0) {
-            return cachedInventorySpace;
-        }
-
-        cachedInventorySpace =
-                drone.getLogic().hasAnyInventorySpace();
-
-        inventoryCacheTicks = INVENTORY_CACHE_TICKS;
-        return cachedInventorySpace;
-    }
-
-    private void invalidateInventoryCache() {
-        inventoryCacheTicks = 0;
-    }
-
     /* ------------------------------------------------------------ */
 
     @Override
     public boolean isInterruptable() {
-        return !hasInventorySpaceCached();
+        return !drone.getLogic().hasAnyInventorySpace();
     }
 }
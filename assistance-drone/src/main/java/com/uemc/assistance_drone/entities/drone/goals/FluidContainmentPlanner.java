@@ -0,0 +1,370 @@
+package com.uemc.assistance_drone.entities.drone.goals;
+
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.phys.AABB;
+
+import java.util.Arrays;
+
+/**
+ * Plans the smallest set of cells to seal so that no outside fluid can flow
+ * into a site.
+ * <p>
+ * Starting from the leak entries found by a scan pass, the fluid body around
+ * the site is explored up to {@value #MARGIN} blocks beyond its columns.
+ * Fluid cells outside the columns that are sources or lie on the edge of that
+ * region feed the outside world; fluid cells inside the columns are what must
+ * be protected. Fluid moves down and sideways, which gives a directed graph
+ * whose minimum vertex cut, found with Edmonds-Karp on split vertices, is the
+ * set of cells to seal. Cells inside the site are never cut, so the seal ends
+ * up on the perimeter instead of in blocks the quarry will dig out again, and
+ * waterlogged blocks cannot be cut at all.
+ * <p>
+ * Work is split into bounded {@link #advance} steps so it can run on the
+ * drone work scheduler. Plans that need more than {@value #MAX_CUT} cells or
+ * a region over {@value #MAX_CELLS} cells are abandoned; the goal then falls
+ * back to sealing threats one by one.
+ */
+final class FluidContainmentPlanner {
+
+    private static final int MARGIN = 4;
+    private static final int MAX_CELLS = 4096;
+    private static final int MAX_CUT = 96;
+    private static final int DISCOVER_CELLS_PER_STEP = 1024;
+    private static final int AUGMENTS_PER_STEP = 4;
+    private static final int INFINITE = Integer.MAX_VALUE / 2;
+
+    /* Fluid flows into the cell below and the four beside it */
+    private static final Direction[] FLOW_DIRECTIONS = {
+            Direction.DOWN, Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST
+    };
+
+    private enum Stage { IDLE, DISCOVER, SOLVE, DONE }
+
+    /* Cell flags */
+    private static final byte OUTSIDE = 1;
+    private static final byte INSIDE = 2;
+    private static final byte FIXED = 4;
+
+    private Stage stage = Stage.IDLE;
+    private Level level;
+    private AABB site;
+    private int regionMinX, regionMaxX, regionMinZ, regionMaxZ, regionMinY, regionMaxY;
+
+    /* Discovery */
+    private final Long2IntOpenHashMap cellIndex = new Long2IntOpenHashMap();
+    private final LongArrayList cells = new LongArrayList();
+    private byte[] flags = new byte[64];
+    private final LongArrayFIFOQueue discoverQueue = new LongArrayFIFOQueue();
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+
+    /* Flow network: node 2i is the entry of cell i, 2i+1 its exit */
+    private int source, sink, flow;
+    private int[] head, next, to, capacity;
+    private int edgeCount;
+    private int[] parentEdge;
+    private final IntArrayFIFOQueue nodeQueue = new IntArrayFIFOQueue();
+
+    private final LongArrayList plan = new LongArrayList();
+
+    FluidContainmentPlanner() {
+        cellIndex.defaultReturnValue(-1);
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Lifecycle                                                    */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Starts a plan for {@code site} from the outside fluid cells a scan saw
+     * flowing into it.
+     */
+    void start(Level level, AABB site, LongCollection leakEntries) {
+        reset();
+        this.level = level;
+        this.site = site;
+
+        regionMinX = (int) site.minX - MARGIN;
+        regionMaxX = (int) site.maxX - 1 + MARGIN;
+        regionMinZ = (int) site.minZ - MARGIN;
+        regionMaxZ = (int) site.maxZ - 1 + MARGIN;
+        regionMinY = (int) site.minY - 1;
+        regionMaxY = (int) site.maxY - 1 + MARGIN;
+
+        leakEntries.forEach(this::discover);
+        stage = Stage.DISCOVER;
+    }
+
+    void reset() {
+        stage = Stage.IDLE;
+        level = null;
+        cellIndex.clear();
+        cells.clear();
+        discoverQueue.clear();
+        plan.clear();
+        head = next = to = capacity = parentEdge = null;
+        flow = 0;
+    }
+
+    boolean isRunning() {
+        return stage == Stage.DISCOVER || stage == Stage.SOLVE;
+    }
+
+    /**
+     * Runs one bounded slice of the plan.
+     *
+     * @return {@code true} once the plan is finished or abandoned
+     */
+    boolean advance() {
+        switch (stage) {
+            case DISCOVER -> advanceDiscovery();
+            case SOLVE -> advanceSolve();
+            default -> { }
+        }
+        return !isRunning();
+    }
+
+    /**
+     * Returns the cells to seal, nearest first along a greedy route from
+     * {@code from}, and resets the planner. Empty if the plan was abandoned
+     * or nothing leaks in.
+     */
+    LongList takePlan(BlockPos from) {
+        LongList ordered = orderByRoute(from);
+        reset();
+        return ordered;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Discovery                                                    */
+    /* ------------------------------------------------------------ */
+
+    private void advanceDiscovery() {
+        for (int processed = 0; processed < DISCOVER_CELLS_PER_STEP && !discoverQueue.isEmpty(); processed++) {
+            long pos = discoverQueue.dequeueLong();
+            for (Direction dir : Direction.values()) {
+                discover(BlockPos.offset(pos, dir));
+            }
+            if (cells.size() > MAX_CELLS) {
+                abandon();
+                return;
+            }
+        }
+
+        if (discoverQueue.isEmpty()) {
+            buildNetwork();
+        }
+    }
+
+    private void discover(long pos) {
+        if (cellIndex.containsKey(pos)) return;
+
+        int x = BlockPos.getX(pos);
+        int y = BlockPos.getY(pos);
+        int z = BlockPos.getZ(pos);
+        if (x < regionMinX || x > regionMaxX || z < regionMinZ || z > regionMaxZ
+                || y < regionMinY || y > regionMaxY) {
+            return;
+        }
+
+        cursor.set(x, y, z);
+        if (!level.isLoaded(cursor)) return;
+
+        FluidState fluid = level.getFluidState(cursor);
+        if (fluid.isEmpty()) return;
+
+        boolean inside = x >= site.minX && x < site.maxX && z >= site.minZ && z < site.maxZ;
+        boolean edge = x == regionMinX || x == regionMaxX || z == regionMinZ || z == regionMaxZ
+                || y == regionMaxY;
+
+        byte cellFlags = 0;
+        if (inside) {
+            cellFlags |= INSIDE;
+        } else if (fluid.isSource() || edge) {
+            cellFlags |= OUTSIDE;
+        }
+        if (!inside && !level.getBlockState(cursor).canBeReplaced()) {
+            cellFlags |= FIXED;
+        }
+
+        int index = cells.size();
+        cells.add(pos);
+        cellIndex.put(pos, index);
+        if (index == flags.length) flags = Arrays.copyOf(flags, index * 2);
+        flags[index] = cellFlags;
+
+        discoverQueue.enqueue(pos);
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Minimum cut                                                  */
+    /* ------------------------------------------------------------ */
+
+    private void buildNetwork() {
+        int count = cells.size();
+        boolean anyOutside = false;
+        boolean anyInside = false;
+        for (int i = 0; i < count; i++) {
+            anyOutside |= (flags[i] & OUTSIDE) != 0;
+            anyInside |= (flags[i] & INSIDE) != 0;
+        }
+        if (!anyOutside || !anyInside) {
+            stage = Stage.DONE;
+            return;
+        }
+
+        int nodes = 2 * count + 2;
+        source = 2 * count;
+        sink = source + 1;
+
+        int maxEdges = 2 * count * (FLOW_DIRECTIONS.length + 2);
+        head = new int[nodes];
+        Arrays.fill(head, -1);
+        next = new int[maxEdges];
+        to = new int[maxEdges];
+        capacity = new int[maxEdges];
+        parentEdge = new int[nodes];
+        edgeCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            int in = 2 * i;
+            int out = in + 1;
+            byte cellFlags = flags[i];
+
+            // Outside cells may be sealed too; inside and waterlogged cells may not
+            addEdge(in, out, (cellFlags & (INSIDE | FIXED)) != 0 ? INFINITE : 1);
+
+            if ((cellFlags & OUTSIDE) != 0) addEdge(source, in, INFINITE);
+            if ((cellFlags & INSIDE) != 0) addEdge(out, sink, INFINITE);
+
+            long pos = cells.getLong(i);
+            for (Direction dir : FLOW_DIRECTIONS) {
+                int neighbour = cellIndex.get(BlockPos.offset(pos, dir));
+                if (neighbour >= 0) addEdge(out, 2 * neighbour, INFINITE);
+            }
+        }
+
+        flow = 0;
+        stage = Stage.SOLVE;
+    }
+
+    private void addEdge(int from, int target, int cap) {
+        to[edgeCount] = target;
+        capacity[edgeCount] = cap;
+        next[edgeCount] = head[from];
+        head[from] = edgeCount++;
+
+        to[edgeCount] = from;
+        capacity[edgeCount] = 0;
+        next[edgeCount] = head[target];
+        head[target] = edgeCount++;
+    }
+
+    private void advanceSolve() {
+        for (int i = 0; i < AUGMENTS_PER_STEP; i++) {
+            if (!augment()) {
+                extractCut();
+                stage = Stage.DONE;
+                return;
+            }
+            if (++flow > MAX_CUT) {
+                abandon();
+                return;
+            }
+        }
+    }
+
+    /** Pushes one unit along a shortest residual path. */
+    private boolean augment() {
+        if (!searchResidual()) return false;
+
+        for (int node = sink; node != source; ) {
+            int edge = parentEdge[node];
+            capacity[edge] -= 1;
+            capacity[edge ^ 1] += 1;
+            node = to[edge ^ 1];
+        }
+        return true;
+    }
+
+    /** Breadth-first search over the residual network; fills {@link #parentEdge}. */
+    private boolean searchResidual() {
+        Arrays.fill(parentEdge, -1);
+        nodeQueue.clear();
+        nodeQueue.enqueue(source);
+
+        while (!nodeQueue.isEmpty()) {
+            int node = nodeQueue.dequeueInt();
+            for (int edge = head[node]; edge >= 0; edge = next[edge]) {
+                int target = to[edge];
+                if (capacity[edge] <= 0 || target == source || parentEdge[target] >= 0) continue;
+
+                parentEdge[target] = edge;
+                if (target == sink) return true;
+                nodeQueue.enqueue(target);
+            }
+        }
+        return false;
+    }
+
+    /** Cells whose entry is reachable from the source in the residual network but whose exit is not. */
+    private void extractCut() {
+        searchResidual();
+
+        for (int i = 0; i < cells.size(); i++) {
+            boolean inReached = reached(2 * i);
+            boolean outReached = reached(2 * i + 1);
+            if (inReached && !outReached) plan.add(cells.getLong(i));
+        }
+    }
+
+    private boolean reached(int node) {
+        return parentEdge[node] >= 0;
+    }
+
+    private void abandon() {
+        plan.clear();
+        stage = Stage.DONE;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Ordering                                                     */
+    /* ------------------------------------------------------------ */
+
+    /** Greedy nearest-neighbour route through the cut, starting at {@code from}. */
+    private LongList orderByRoute(BlockPos from) {
+        LongArrayList remaining = new LongArrayList(plan);
+        LongArrayList route = new LongArrayList(remaining.size());
+
+        long current = from.asLong();
+        while (!remaining.isEmpty()) {
+            int best = 0;
+            long bestDistance = Long.MAX_VALUE;
+            for (int i = 0; i < remaining.size(); i++) {
+                long distance = distanceSqr(current, remaining.getLong(i));
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = i;
+                }
+            }
+            current = remaining.removeLong(best);
+            route.add(current);
+        }
+        return route;
+    }
+
+    private static long distanceSqr(long a, long b) {
+        long dx = BlockPos.getX(a) - BlockPos.getX(b);
+        long dy = BlockPos.getY(a) - BlockPos.getY(b);
+        long dz = BlockPos.getZ(a) - BlockPos.getZ(b);
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
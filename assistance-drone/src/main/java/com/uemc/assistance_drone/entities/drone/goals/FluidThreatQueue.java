@@ -0,0 +1,164 @@
+package com.uemc.assistance_drone.entities.drone.goals;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Max-priority queue of fluid threats keyed by packed block position.
+ * <p>
+ * A binary heap over parallel arrays plus a position → heap slot index, so
+ * every position is queued at most once: offering a queued position updates
+ * its priority in place ({@link #offerIfHigher} only ever raises it),
+ * membership is a hash lookup and any entry can be removed in O(log n). The
+ * queue therefore never holds more entries than there are distinct threats.
+ */
+final class FluidThreatQueue {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] positions = new long[INITIAL_CAPACITY];
+    private int[] priorities = new int[INITIAL_CAPACITY];
+    private int size = 0;
+    private final Long2IntOpenHashMap slots = new Long2IntOpenHashMap();
+
+    FluidThreatQueue() {
+        slots.defaultReturnValue(-1);
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Queries                                                      */
+    /* ------------------------------------------------------------ */
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long pos) {
+        return slots.containsKey(pos);
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Updates                                                      */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Queues {@code pos}, or moves it to {@code priority} if already queued.
+     *
+     * @return {@code true} if the position was not queued before
+     */
+    boolean offer(long pos, int priority) {
+        int slot = slots.get(pos);
+        if (slot >= 0) {
+            int previous = priorities[slot];
+            priorities[slot] = priority;
+            if (priority > previous) {
+                siftUp(slot);
+            } else if (priority < previous) {
+                siftDown(slot);
+            }
+            return false;
+        }
+
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+            priorities = Arrays.copyOf(priorities, size * 2);
+        }
+
+        place(size, pos, priority);
+        siftUp(size++);
+        return true;
+    }
+
+    /**
+     * Queues {@code pos}, or raises it to {@code priority} if already queued
+     * with a lower one; a higher queued priority is kept.
+     *
+     * @return {@code true} if the position was not queued before
+     */
+    boolean offerIfHigher(long pos, int priority) {
+        int slot = slots.get(pos);
+        if (slot >= 0) {
+            if (priority > priorities[slot]) {
+                priorities[slot] = priority;
+                siftUp(slot);
+            }
+            return false;
+        }
+        return offer(pos, priority);
+    }
+
+    /** Removes and returns the position with the highest priority. The queue must not be empty. */
+    long poll() {
+        long top = positions[0];
+        removeAt(0);
+        return top;
+    }
+
+    boolean remove(long pos) {
+        int slot = slots.get(pos);
+        if (slot < 0) return false;
+
+        removeAt(slot);
+        return true;
+    }
+
+    void clear() {
+        size = 0;
+        slots.clear();
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Heap                                                         */
+    /* ------------------------------------------------------------ */
+
+    private void removeAt(int slot) {
+        slots.remove(positions[slot]);
+        size--;
+        if (slot == size) return;
+
+        place(slot, positions[size], priorities[size]);
+        siftDown(slot);
+        siftUp(slot);
+    }
+
+    private void siftUp(int slot) {
+        long pos = positions[slot];
+        int priority = priorities[slot];
+
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (priorities[parent] >= priority) break;
+
+            place(slot, positions[parent], priorities[parent]);
+            slot = parent;
+        }
+        place(slot, pos, priority);
+    }
+
+    private void siftDown(int slot) {
+        long pos = positions[slot];
+        int priority = priorities[slot];
+
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) break;
+            if (child + 1 < size && priorities[child + 1] > priorities[child]) child++;
+            if (priorities[child] <= priority) break;
+
+            place(slot, positions[child], priorities[child]);
+            slot = child;
+        }
+        place(slot, pos, priority);
+    }
+
+    private void place(int slot, long pos, int priority) {
+        positions[slot] = pos;
+        priorities[slot] = priority;
+        slots.put(pos, slot);
+    }
+}
@@ -0,0 +1,259 @@
+package com.uemc.assistance_drone.entities.drone.goals;
+
+import com.uemc.assistance_drone.entities.drone.DroneInventory;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.phys.Vec3;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Orders the drops of a site into a short collection route.
+ * <p>
+ * {@link #plan} builds a nearest-neighbour route from the drone, simulating
+ * every pickup on a snapshot of the drone inventory: drops that would not
+ * fit are left out and the route ends once the inventory would be full, so
+ * one route is one trip. {@link #improve} then shortens the part of the route
+ * not flown yet with 2-opt moves, a bounded number of candidate moves per
+ * call, until a full pass finds nothing to gain. The route is an open path
+ * anchored at the last stop, so improvements keep applying while the drone
+ * is already following it.
+ * <p>
+ * Positions are taken when the route is planned; drops that move or vanish
+ * afterwards are skipped by the goal, not re-planned.
+ */
+final class PickupRoutePlanner {
+
+    /** Smallest gain, in blocks, worth a 2-opt move; avoids flip-flopping on rounding noise. */
+    private static final double MIN_GAIN = 1.0E-3;
+
+    private final List<ItemEntity> stops = new ArrayList<>();
+    private double[] xs = new double[16], ys = new double[16], zs = new double[16];
+    private int head = 0;
+    private double anchorX, anchorY, anchorZ;
+
+    /* 2-opt cursor, kept across calls */
+    private int moveI, moveJ;
+    private boolean changedThisPass;
+    private boolean converged = true;
+    private double gained = 0.0;
+
+    /* ------------------------------------------------------------ */
+    /* Planning                                                     */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Replaces the route with a nearest-neighbour tour from {@code from} over
+     * the {@code candidates} that fit in {@code inventory}.
+     *
+     * @param inventory snapshot to simulate pickups on; it is modified
+     */
+    void plan(Vec3 from, List<ItemEntity> candidates, DroneInventory inventory) {
+        clear();
+        anchorX = from.x;
+        anchorY = from.y;
+        anchorZ = from.z;
+
+        int count = candidates.size();
+        boolean[] used = new boolean[count];
+        double x = from.x, y = from.y, z = from.z;
+
+        for (int placed = 0; placed < count && inventory.hasFreeSpace(); placed++) {
+            int best = -1;
+            double bestDistance = Double.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                if (used[i]) continue;
+                double distance = candidates.get(i).distanceToSqr(x, y, z);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = i;
+                }
+            }
+            if (best < 0) break;
+            used[best] = true;
+
+            ItemEntity item = candidates.get(best);
+            ItemStack stack = item.getItem();
+            if (inventory.insertStacked(stack.copy(), false).getCount() == stack.getCount()) continue;
+
+            append(item);
+            x = item.getX();
+            y = item.getY();
+            z = item.getZ();
+        }
+
+        converged = stops.size() - head < 3;
+    }
+
+    void clear() {
+        stops.clear();
+        head = 0;
+        moveI = moveJ = 0;
+        changedThisPass = false;
+        converged = true;
+        gained = 0.0;
+    }
+
+    private void append(ItemEntity item) {
+        int index = stops.size();
+        if (index == xs.length) {
+            xs = Arrays.copyOf(xs, index * 2);
+            ys = Arrays.copyOf(ys, index * 2);
+            zs = Arrays.copyOf(zs, index * 2);
+        }
+        stops.add(item);
+        xs[index] = item.getX();
+        ys[index] = item.getY();
+        zs[index] = item.getZ();
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Following                                                    */
+    /* ------------------------------------------------------------ */
+
+    boolean isEmpty() {
+        return head >= stops.size();
+    }
+
+    /** Number of stops not flown yet. */
+    int remaining() {
+        return stops.size() - head;
+    }
+
+    /** Removes and returns the next stop; it becomes the anchor of the rest of the route. */
+    @Nullable
+    ItemEntity poll() {
+        if (isEmpty()) return null;
+
+        anchorX = xs[head];
+        anchorY = ys[head];
+        anchorZ = zs[head];
+        return stops.get(head++);
+    }
+
+    /** Length in blocks of the route still ahead, from the anchor. */
+    double remainingLength() {
+        double length = 0.0;
+        for (int i = head; i < stops.size(); i++) {
+            length += distanceFromPrevious(i);
+        }
+        return length;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* 2-opt                                                        */
+    /* ------------------------------------------------------------ */
+
+    boolean isConverged() {
+        return converged;
+    }
+
+    /** Length in blocks the 2-opt moves removed from the route since it was planned. */
+    double improvedBy() {
+        return gained;
+    }
+
+    /**
+     * Evaluates up to {@code budget} 2-opt moves on the route ahead,
+     * reversing every segment whose reversal shortens it.
+     *
+     * @return {@code true} once a full pass found no improving move
+     */
+    boolean improve(int budget) {
+        int end = stops.size();
+        if (end - head < 3) converged = true;
+        if (converged) return true;
+
+        if (moveI < head || moveI >= end - 1) restartPass();
+
+        for (int checks = 0; checks < budget; checks++) {
+            if (++moveJ >= end) {
+                if (++moveI >= end - 1) {
+                    if (!changedThisPass) {
+                        converged = true;
+                        return true;
+                    }
+                    restartPass();
+                    moveJ = moveI + 1;
+                } else {
+                    moveJ = moveI + 1;
+                }
+            }
+
+            double gain = gain(moveI, moveJ);
+            if (gain > MIN_GAIN) {
+                reverse(moveI, moveJ);
+                gained += gain;
+                changedThisPass = true;
+            }
+        }
+        return false;
+    }
+
+    private void restartPass() {
+        moveI = head;
+        moveJ = head;
+        changedThisPass = false;
+    }
+
+    /**
+     * Length saved by reversing stops {@code i..j}: the edges into {@code i}
+     * and out of {@code j} are replaced, the edge out of the last stop is
+     * absent on an open path.
+     */
+    private double gain(int i, int j) {
+        double before = distanceFromPrevious(i);
+        double after = distance(previousX(i), previousY(i), previousZ(i), xs[j], ys[j], zs[j]);
+
+        if (j + 1 < stops.size()) {
+            before += distance(xs[j], ys[j], zs[j], xs[j + 1], ys[j + 1], zs[j + 1]);
+            after += distance(xs[i], ys[i], zs[i], xs[j + 1], ys[j + 1], zs[j + 1]);
+        }
+        return before - after;
+    }
+
+    private void reverse(int i, int j) {
+        for (; i < j; i++, j--) {
+            stops.set(i, stops.set(j, stops.get(i)));
+            swap(xs, i, j);
+            swap(ys, i, j);
+            swap(zs, i, j);
+        }
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Geometry                                                     */
+    /* ------------------------------------------------------------ */
+
+    private double distanceFromPrevious(int i) {
+        return distance(previousX(i), previousY(i), previousZ(i), xs[i], ys[i], zs[i]);
+    }
+
+    private double previousX(int i) {
+        return i == head ? anchorX : xs[i - 1];
+    }
+
+    private double previousY(int i) {
+        return i == head ? anchorY : ys[i - 1];
+    }
+
+    private double previousZ(int i) {
+        return i == head ? anchorZ : zs[i - 1];
+    }
+
+    private static double distance(double x1, double y1, double z1, double x2, double y2, double z2) {
+        double dx = x1 - x2;
+        double dy = y1 - y2;
+        double dz = z1 - z2;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+}
@@ -0,0 +1,231 @@
+package com.uemc.assistance_drone.entities.drone.pathing;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Hierarchical flight planner built for the drone.
+ * <p>
+ * Vanilla {@code FlyingPathNavigation} evaluates every node through the
+ * generic path-type machinery and is sized for arbitrary mobs. The drone is
+ * smaller than a block and flies freely on every axis, so it only needs the
+ * voxel occupancy of {@link SectionSnapshot}. Planning runs in three stages:
+ * <ol>
+ *     <li>Coarse A* over chunk sections. Two sections are linked when some
+ *     cell on their shared face is free on both sides; all-air sections need
+ *     no evaluation at all.</li>
+ *     <li>Fine A* with {@link FlightPathSearch}, confined to the sections on
+ *     the coarse route and their neighbours. If the corridor turns out to be
+ *     a dead end, the fine search is repeated over the whole snapshot.</li>
+ *     <li>Line-of-sight smoothing: consecutive nodes are replaced by a
+ *     straight segment whenever the drone box can sweep it, which leaves a
+ *     few long legs across mined-out volumes instead of a staircase of
+ *     single-block steps.</li>
+ * </ol>
+ * Pure function of its inputs, safe to run on worker threads.
+ */
+public final class DroneFlightPlanner {
+
+    private DroneFlightPlanner() {}
+
+    /** Half extents of the drone box, slightly shrunk to tolerate float error. */
+    private static final double HALF_WIDTH = 0.34;
+    private static final double HALF_HEIGHT = 0.29;
+    /** Sampling step along smoothed segments. */
+    private static final double SWEEP_STEP = 0.2;
+    /** How many nodes ahead smoothing tries to skip at most. */
+    private static final int MAX_SMOOTH_LOOKAHEAD = 24;
+
+    private static final int[][] FACES = {
+            {1, 0, 0}, {-1, 0, 0}, {0, 1, 0}, {0, -1, 0}, {0, 0, 1}, {0, 0, -1}
+    };
+
+    public static FlightPathSearch.Result plan(SectionSnapshot world, BlockPos start, BlockPos target,
+                                               int reach, int maxVisited) {
+        LongSet corridor = findCorridor(world, start, target);
+
+        FlightPathSearch.Result result = corridor == null
+                ? FlightPathSearch.find(world, start, target, reach, maxVisited)
+                : FlightPathSearch.find(world, start, target, reach, maxVisited, corridor);
+
+        int spent = result.visited();
+        if (corridor != null && !result.reached() && spent < maxVisited) {
+            FlightPathSearch.Result full = FlightPathSearch.find(world, start, target, reach, maxVisited - spent);
+            spent += full.visited();
+            if (full.reached() || full.nodes().size() > result.nodes().size()) result = full;
+        }
+
+        return new FlightPathSearch.Result(smooth(world, result.nodes()), result.reached(), spent);
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Coarse level                                                 */
+    /* ------------------------------------------------------------ */
+
+    private static final class SectionNode implements Comparable<SectionNode> {
+        final int x, y, z;
+        int g;
+        int f;
+        SectionNode parent;
+        boolean closed;
+
+        SectionNode(int x, int y, int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        @Override
+        public int compareTo(SectionNode o) {
+            return Integer.compare(f, o.f);
+        }
+    }
+
+    /**
+     * Returns the sections the fine search may use, or {@code null} when the
+     * start and target are close enough that a corridor would not help or no
+     * coarse route exists.
+     */
+    @Nullable
+    private static LongSet findCorridor(SectionSnapshot world, BlockPos start, BlockPos target) {
+        int tx = SectionPos.blockToSectionCoord(target.getX());
+        int ty = SectionPos.blockToSectionCoord(target.getY());
+        int tz = SectionPos.blockToSectionCoord(target.getZ());
+
+        SectionNode first = new SectionNode(
+                SectionPos.blockToSectionCoord(start.getX()),
+                SectionPos.blockToSectionCoord(start.getY()),
+                SectionPos.blockToSectionCoord(start.getZ()));
+        if (isNear(first, tx, ty, tz)) return null;
+
+        Long2ObjectOpenHashMap<SectionNode> nodes = new Long2ObjectOpenHashMap<>();
+        PriorityQueue<SectionNode> open = new PriorityQueue<>();
+        first.f = sectionDistance(first.x, first.y, first.z, tx, ty, tz);
+        nodes.put(SectionPos.asLong(first.x, first.y, first.z), first);
+        open.add(first);
+
+        while (!open.isEmpty()) {
+            SectionNode node = open.poll();
+            if (node.closed) continue;
+            node.closed = true;
+
+            if (isNear(node, tx, ty, tz)) return inflate(world, node);
+
+            for (int[] face : FACES) {
+                int nx = node.x + face[0];
+                int ny = node.y + face[1];
+                int nz = node.z + face[2];
+                if (!world.hasFreeCells(nx, ny, nz)) continue;
+                if (!isLinked(world, node, face)) continue;
+
+                long key = SectionPos.asLong(nx, ny, nz);
+                SectionNode next = nodes.get(key);
+                int g = node.g + 1;
+
+                if (next == null) {
+                    next = new SectionNode(nx, ny, nz);
+                    nodes.put(key, next);
+                } else if (next.closed || g >= next.g) {
+                    continue;
+                }
+
+                next.g = g;
+                next.f = g + sectionDistance(nx, ny, nz, tx, ty, tz);
+                next.parent = node;
+                open.add(next);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isLinked(SectionSnapshot world, SectionNode node, int[] face) {
+        int axis = face[0] != 0 ? 0 : face[1] != 0 ? 1 : 2;
+        int sign = face[0] + face[1] + face[2];
+        return sign > 0
+                ? world.isFaceOpen(node.x, node.y, node.z, axis)
+                : world.isFaceOpen(node.x + face[0], node.y + face[1], node.z + face[2], axis);
+    }
+
+    /** Sections on the route plus their 26 neighbours, so cells next to a boundary stay usable. */
+    private static LongSet inflate(SectionSnapshot world, SectionNode end) {
+        LongSet corridor = new LongOpenHashSet();
+        for (SectionNode n = end; n != null; n = n.parent) {
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dz = -1; dz <= 1; dz++) {
+                        if (world.inBox(n.x + dx, n.y + dy, n.z + dz)) {
+                            corridor.add(SectionPos.asLong(n.x + dx, n.y + dy, n.z + dz));
+                        }
+                    }
+                }
+            }
+        }
+        return corridor;
+    }
+
+    private static boolean isNear(SectionNode node, int tx, int ty, int tz) {
+        return Math.abs(node.x - tx) <= 1 && Math.abs(node.y - ty) <= 1 && Math.abs(node.z - tz) <= 1;
+    }
+
+    private static int sectionDistance(int x, int y, int z, int tx, int ty, int tz) {
+        return Math.abs(x - tx) + Math.abs(y - ty) + Math.abs(z - tz);
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Smoothing                                                    */
+    /* ------------------------------------------------------------ */
+
+    private static List<BlockPos> smooth(SectionSnapshot world, List<BlockPos> nodes) {
+        if (nodes.size() <= 2) return nodes;
+
+        List<BlockPos> smoothed = new ArrayList<>();
+        smoothed.add(nodes.getFirst());
+
+        int from = 0;
+        while (from < nodes.size() - 1) {
+            int to = Math.min(nodes.size() - 1, from + MAX_SMOOTH_LOOKAHEAD);
+            while (to > from + 1 && !canSweep(world, nodes.get(from), nodes.get(to))) {
+                to--;
+            }
+            smoothed.add(nodes.get(to));
+            from = to;
+        }
+        return smoothed;
+    }
+
+    /**
+     * Whether the drone box can fly straight between the two cells. The box is
+     * smaller than a cell, so it overlaps a blocked cell only if one of its
+     * corners lies inside it; corners are sampled along the segment.
+     */
+    private static boolean canSweep(SectionSnapshot world, BlockPos a, BlockPos b) {
+        double dx = b.getX() - a.getX();
+        double dy = b.getY() - a.getY();
+        double dz = b.getZ() - a.getZ();
+        int steps = Mth.ceil(Math.sqrt(dx * dx + dy * dy + dz * dz) / SWEEP_STEP);
+
+        for (int i = 1; i < steps; i++) {
+            double t = (double) i / steps;
+            double cx = a.getX() + 0.5 + dx * t;
+            double cy = a.getY() + 0.5 + dy * t;
+            double cz = a.getZ() + 0.5 + dz * t;
+
+            for (int corner = 0; corner < 8; corner++) {
+                int x = Mth.floor(cx + ((corner & 1) == 0 ? -HALF_WIDTH : HALF_WIDTH));
+                int y = Mth.floor(cy + ((corner & 2) == 0 ? -HALF_HEIGHT : HALF_HEIGHT));
+                int z = Mth.floor(cz + ((corner & 4) == 0 ? -HALF_WIDTH : HALF_WIDTH));
+                if (!world.isFree(x, y, z)) return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,96 @@
+package com.uemc.assistance_drone.entities.drone.pathing;
+
+import com.uemc.assistance_drone.scheduler.DroneWorkScheduler;
+import com.uemc.assistance_drone.scheduler.WorkUnit;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous path planning for drones.
+ * <p>
+ * A request is queued on the {@link DroneWorkScheduler}. When its turn comes
+ * the sections around the start and target are copied into a
+ * {@link SectionSnapshot} (the only main-thread cost), and
+ * {@link DroneFlightPlanner} runs on the shared background executor. The
+ * server thread never runs the search itself, except through
+ * {@link #planNow} for diagnostics.
+ */
+public final class DronePathPlanner {
+
+    private DronePathPlanner() {}
+
+    /** Free space around the start/target box the search may use. */
+    private static final int SEARCH_MARGIN = 8;
+    /** Requests spanning more than this on any axis fail immediately. */
+    private static final int MAX_SPAN = 64;
+    private static final int MAX_VISITED_NODES = 4096;
+
+    /**
+     * Queues a search from {@code from} to any cell within {@code reach}
+     * (Manhattan) of {@code target}.
+     *
+     * @param owner scheduling key, see {@link DroneWorkScheduler#submit}
+     */
+    public static PathRequest request(ServerLevel level, Object owner, BlockPos from, BlockPos target, int reach) {
+        long now = level.getGameTime();
+
+        if (exceedsSpan(from, target)) {
+            return PathRequest.completed(from, target, now, FlightPathSearch.Result.NONE);
+        }
+
+        PathRequest request = new PathRequest(from.immutable(), target.immutable(), now);
+        DroneWorkScheduler.submit(owner, new CaptureUnit(level, request, reach));
+        return request;
+    }
+
+    /**
+     * Captures and plans on the calling thread. Only meant for diagnostics
+     * such as the path benchmark command.
+     */
+    public static FlightPathSearch.Result planNow(ServerLevel level, BlockPos from, BlockPos target, int reach) {
+        if (exceedsSpan(from, target)) return FlightPathSearch.Result.NONE;
+        return DroneFlightPlanner.plan(capture(level, from, target), from, target, reach, MAX_VISITED_NODES);
+    }
+
+    private static boolean exceedsSpan(BlockPos from, BlockPos target) {
+        return Math.abs(from.getX() - target.getX()) > MAX_SPAN
+                || Math.abs(from.getY() - target.getY()) > MAX_SPAN
+                || Math.abs(from.getZ() - target.getZ()) > MAX_SPAN;
+    }
+
+    private static SectionSnapshot capture(ServerLevel level, BlockPos from, BlockPos target) {
+        BlockPos min = new BlockPos(
+                Math.min(from.getX(), target.getX()) - SEARCH_MARGIN,
+                Math.min(from.getY(), target.getY()) - SEARCH_MARGIN,
+                Math.min(from.getZ(), target.getZ()) - SEARCH_MARGIN);
+        BlockPos max = new BlockPos(
+                Math.max(from.getX(), target.getX()) + SEARCH_MARGIN,
+                Math.max(from.getY(), target.getY()) + SEARCH_MARGIN,
+                Math.max(from.getZ(), target.getZ()) + SEARCH_MARGIN);
+        return SectionSnapshot.capture(level, min, max);
+    }
+
+    /** Takes the snapshot on the server thread and hands the search to a worker. */
+    private record CaptureUnit(ServerLevel level, PathRequest request, int reach) implements WorkUnit {
+        @Override
+        public Result step() {
+            BlockPos from = request.getFrom();
+            BlockPos target = request.getTarget();
+            SectionSnapshot snapshot = capture(level, from, target);
+
+            request.start(CompletableFuture
+                    .supplyAsync(() -> DroneFlightPlanner.plan(snapshot, from, target, reach, MAX_VISITED_NODES),
+                            Util.backgroundExecutor())
+                    .exceptionally(e -> FlightPathSearch.Result.NONE));
+            return Result.DONE;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return request.isCancelled();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.uemc.assistance_drone.entities.drone.pathing;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A* search for a flying drone over a {@link SectionSnapshot}.
+ * <p>
+ * The drone fits in a single block, so a cell is free when its collision
+ * shape is empty. Moves go to any of the 26 neighbours; diagonal moves must
+ * not cut corners, i.e. every axis-aligned cell they sweep must be free too.
+ * When the target cannot be reached within the node budget the path to the
+ * explored cell closest to it is returned, like vanilla partial paths.
+ * <p>
+ * The search can be confined to a corridor of sections, which is how
+ * {@link DroneFlightPlanner} runs the fine level of its hierarchy.
+ * <p>
+ * Pure function of its inputs, safe to run on worker threads.
+ */
+public final class FlightPathSearch {
+
+    private FlightPathSearch() {}
+
+    /**
+     * @param nodes   cells from start to end, inclusive
+     * @param reached whether the end is within reach of the target
+     * @param visited number of expanded nodes, for diagnostics
+     */
+    public record Result(List<BlockPos> nodes, boolean reached, int visited) {
+        public static final Result NONE = new Result(List.of(), false, 0);
+    }
+
+    private static final int[][] MOVES;
+    private static final double[] MOVE_COSTS;
+
+    static {
+        List<int[]> moves = new ArrayList<>();
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    if (dx != 0 || dy != 0 || dz != 0) moves.add(new int[]{dx, dy, dz});
+                }
+            }
+        }
+        MOVES = moves.toArray(new int[0][]);
+        MOVE_COSTS = new double[MOVES.length];
+        for (int i = 0; i < MOVES.length; i++) {
+            int[] m = MOVES[i];
+            MOVE_COSTS[i] = Math.sqrt(m[0] * m[0] + m[1] * m[1] + m[2] * m[2]);
+        }
+    }
+
+    private static final class Node implements Comparable<Node> {
+        final int x, y, z;
+        double g;
+        double f;
+        Node parent;
+        boolean closed;
+
+        Node(int x, int y, int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        @Override
+        public int compareTo(Node o) {
+            return Double.compare(f, o.f);
+        }
+    }
+
+    public static Result find(SectionSnapshot world, BlockPos start, BlockPos target, int reach, int maxVisited) {
+        return find(world, start, target, reach, maxVisited, null);
+    }
+
+    /**
+     * @param corridor packed {@link SectionPos} keys the search may enter, or
+     *                 {@code null} for the whole snapshot
+     */
+    public static Result find(SectionSnapshot world, BlockPos start, BlockPos target, int reach, int maxVisited,
+                              @Nullable LongSet corridor) {
+        return new Search(world, target, reach, corridor).run(start, maxVisited);
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Search state                                                 */
+    /* ------------------------------------------------------------ */
+
+    private static final class Search {
+        private final SectionSnapshot world;
+        private final BlockPos target;
+        private final int reach;
+        @Nullable
+        private final LongSet corridor;
+
+        private final Long2ObjectOpenHashMap<Node> nodes = new Long2ObjectOpenHashMap<>();
+        private final PriorityQueue<Node> open = new PriorityQueue<>();
+
+        Search(SectionSnapshot world, BlockPos target, int reach, @Nullable LongSet corridor) {
+            this.world = world;
+            this.target = target;
+            this.reach = reach;
+            this.corridor = corridor;
+        }
+
+        Result run(BlockPos start, int maxVisited) {
+            Node first = new Node(start.getX(), start.getY(), start.getZ());
+            first.f = heuristic(first.x, first.y, first.z);
+            nodes.put(start.asLong(), first);
+            open.add(first);
+
+            Node best = first;
+            int visited = 0;
+
+            while (!open.isEmpty() && visited < maxVisited) {
+                Node node = open.poll();
+                if (node.closed) continue;
+                node.closed = true;
+                visited++;
+
+                if (isGoal(node)) return new Result(trace(node), true, visited);
+
+                if (node.f - node.g < best.f - best.g) best = node;
+
+                expand(node);
+            }
+
+            return new Result(trace(best), false, visited);
+        }
+
+        private void expand(Node node) {
+            for (int i = 0; i < MOVES.length; i++) {
+                int[] m = MOVES[i];
+                int nx = node.x + m[0];
+                int ny = node.y + m[1];
+                int nz = node.z + m[2];
+
+                if (!inCorridor(nx, ny, nz)) continue;
+                if (!canMove(node.x, node.y, node.z, m)) continue;
+
+                long key = BlockPos.asLong(nx, ny, nz);
+                Node next = nodes.get(key);
+                double g = node.g + MOVE_COSTS[i];
+
+                if (next == null) {
+                    next = new Node(nx, ny, nz);
+                    nodes.put(key, next);
+                } else if (next.closed || g >= next.g) {
+                    continue;
+                }
+
+                next.g = g;
+                next.f = g + heuristic(nx, ny, nz);
+                next.parent = node;
+                open.add(next); // stale entries are skipped through the closed flag
+            }
+        }
+
+        /** Every cell swept by the move, including the destination, must be free. */
+        private boolean canMove(int x, int y, int z, int[] m) {
+            for (int ax = Math.min(0, m[0]); ax <= Math.max(0, m[0]); ax++) {
+                for (int ay = Math.min(0, m[1]); ay <= Math.max(0, m[1]); ay++) {
+                    for (int az = Math.min(0, m[2]); az <= Math.max(0, m[2]); az++) {
+                        if (ax == 0 && ay == 0 && az == 0) continue;
+                        if (!world.isFree(x + ax, y + ay, z + az)) return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private boolean inCorridor(int x, int y, int z) {
+            return corridor == null || corridor.contains(SectionPos.asLong(
+                    SectionPos.blockToSectionCoord(x),
+                    SectionPos.blockToSectionCoord(y),
+                    SectionPos.blockToSectionCoord(z)));
+        }
+
+        private boolean isGoal(Node node) {
+            return Math.abs(node.x - target.getX())
+                    + Math.abs(node.y - target.getY())
+                    + Math.abs(node.z - target.getZ()) <= reach;
+        }
+
+        private double heuristic(int x, int y, int z) {
+            double dx = x - target.getX();
+            double dy = y - target.getY();
+            double dz = z - target.getZ();
+            return Math.sqrt(dx * dx + dy * dy + dz * dz);
+        }
+
+        private static List<BlockPos> trace(Node end) {
+            List<BlockPos> path = new ArrayList<>();
+            for (Node n = end; n != null; n = n.parent) {
+                path.add(new BlockPos(n.x, n.y, n.z));
+            }
+            Collections.reverse(path);
+            return path;
+        }
+    }
+}
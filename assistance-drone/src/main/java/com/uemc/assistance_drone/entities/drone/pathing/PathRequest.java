@@ -0,0 +1,101 @@
+package com.uemc.assistance_drone.entities.drone.pathing;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.pathfinder.Node;
+import net.minecraft.world.level.pathfinder.Path;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle to a path search issued through {@link DronePathPlanner}.
+ * <p>
+ * The world snapshot is taken on a later scheduler step and the search then
+ * runs on a worker thread, so callers poll {@link #isDone()} from their tick
+ * and keep the drone hovering meanwhile.
+ */
+public final class PathRequest {
+
+    private final BlockPos from;
+    private final BlockPos target;
+    private final long createdTick;
+
+    private volatile CompletableFuture<FlightPathSearch.Result> future;
+    private volatile boolean cancelled = false;
+
+    PathRequest(BlockPos from, BlockPos target, long createdTick) {
+        this.from = from;
+        this.target = target;
+        this.createdTick = createdTick;
+    }
+
+    static PathRequest completed(BlockPos from, BlockPos target, long createdTick, FlightPathSearch.Result result) {
+        PathRequest request = new PathRequest(from, target, createdTick);
+        request.future = CompletableFuture.completedFuture(result);
+        return request;
+    }
+
+    void start(CompletableFuture<FlightPathSearch.Result> future) {
+        this.future = future;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Polling                                                      */
+    /* ------------------------------------------------------------ */
+
+    public BlockPos getFrom() {
+        return from;
+    }
+
+    public BlockPos getTarget() {
+        return target;
+    }
+
+    public long getCreatedTick() {
+        return createdTick;
+    }
+
+    public boolean isDone() {
+        CompletableFuture<FlightPathSearch.Result> f = future;
+        return f != null && f.isDone();
+    }
+
+    /** The search result, or {@code null} while still pending. */
+    @Nullable
+    public FlightPathSearch.Result getResult() {
+        if (!isDone()) return null;
+        return future.getNow(FlightPathSearch.Result.NONE);
+    }
+
+    public boolean isReachable() {
+        FlightPathSearch.Result result = getResult();
+        return result != null && result.reached();
+    }
+
+    /**
+     * Converts the result into a vanilla {@link Path} the drone navigation can
+     * follow, or {@code null} if the search produced no movement.
+     */
+    @Nullable
+    public Path toPath() {
+        FlightPathSearch.Result result = getResult();
+        if (result == null || result.nodes().size() < 2) return null;
+
+        List<Node> nodes = new ArrayList<>(result.nodes().size());
+        for (BlockPos pos : result.nodes()) {
+            nodes.add(new Node(pos.getX(), pos.getY(), pos.getZ()));
+        }
+        return new Path(nodes, target, result.reached());
+    }
+
+    /** Drops interest in the result. A search already running still completes. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,236 @@
+package com.uemc.assistance_drone.entities.drone.pathing;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.material.FluidState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable copy of the block states in a box of chunk sections.
+ * <p>
+ * Captured on the server thread by copying the section palettes, then read
+ * from the worker thread running the search. All-air sections are not copied.
+ * Positions outside the box, outside the world height or in chunks that were
+ * not loaded read as bedrock, so a search never walks into unknown terrain.
+ * <p>
+ * On top of the states the snapshot derives a voxel occupancy grid: one
+ * 4096-bit mask of free cells per section, built lazily the first time the
+ * section is queried. A cell is free when its collision shape is empty, which
+ * is enough for the 0.7×0.6 drone box. Occupancy queries are not thread-safe;
+ * each snapshot belongs to a single search.
+ */
+public final class SectionSnapshot implements BlockGetter {
+
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+    private static final BlockState UNKNOWN = Blocks.BEDROCK.defaultBlockState();
+
+    private final Long2ObjectMap<PalettedContainer<BlockState>> sections = new Long2ObjectOpenHashMap<>();
+    private final LongSet emptySections = new LongOpenHashSet();
+    private final Long2ObjectMap<long[]> freeMasks = new Long2ObjectOpenHashMap<>();
+    private final BlockPos.MutableBlockPos probe = new BlockPos.MutableBlockPos();
+    private final int minSecX, minSecY, minSecZ, maxSecX, maxSecY, maxSecZ;
+    private final int minBuildHeight, height;
+
+    private SectionSnapshot(ServerLevel level, int minSecX, int minSecY, int minSecZ,
+                            int maxSecX, int maxSecY, int maxSecZ) {
+        this.minSecX = minSecX;
+        this.minSecY = minSecY;
+        this.minSecZ = minSecZ;
+        this.maxSecX = maxSecX;
+        this.maxSecY = maxSecY;
+        this.maxSecZ = maxSecZ;
+        this.minBuildHeight = level.getMinBuildHeight();
+        this.height = level.getHeight();
+    }
+
+    /**
+     * Copies every section intersecting the block box. Server thread only.
+     */
+    public static SectionSnapshot capture(ServerLevel level, BlockPos min, BlockPos max) {
+        int minSecY = Math.max(SectionPos.blockToSectionCoord(min.getY()), level.getMinSection());
+        int maxSecY = Math.min(SectionPos.blockToSectionCoord(max.getY()), level.getMaxSection() - 1);
+
+        SectionSnapshot snapshot = new SectionSnapshot(level,
+                SectionPos.blockToSectionCoord(min.getX()), minSecY, SectionPos.blockToSectionCoord(min.getZ()),
+                SectionPos.blockToSectionCoord(max.getX()), maxSecY, SectionPos.blockToSectionCoord(max.getZ()));
+
+        for (int secX = snapshot.minSecX; secX <= snapshot.maxSecX; secX++) {
+            for (int secZ = snapshot.minSecZ; secZ <= snapshot.maxSecZ; secZ++) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(secX, secZ);
+                if (chunk == null) continue;
+
+                for (int secY = minSecY; secY <= maxSecY; secY++) {
+                    LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(secY));
+                    long key = SectionPos.asLong(secX, secY, secZ);
+
+                    if (section.hasOnlyAir()) {
+                        snapshot.emptySections.add(key);
+                    } else {
+                        snapshot.sections.put(key, section.getStates().copy());
+                    }
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /** Number of copied, non-empty sections. */
+    public int getCopiedSections() {
+        return sections.size();
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Occupancy                                                    */
+    /* ------------------------------------------------------------ */
+
+    public boolean isFree(int x, int y, int z) {
+        int secX = SectionPos.blockToSectionCoord(x);
+        int secY = SectionPos.blockToSectionCoord(y);
+        int secZ = SectionPos.blockToSectionCoord(z);
+        if (!inBox(secX, secY, secZ)) return false;
+
+        long key = SectionPos.asLong(secX, secY, secZ);
+        if (emptySections.contains(key)) return true;
+
+        long[] mask = freeMask(key);
+        if (mask == null) return false;
+
+        int bit = ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+        return (mask[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /** Whether the section holds at least one free cell. */
+    public boolean hasFreeCells(int secX, int secY, int secZ) {
+        if (!inBox(secX, secY, secZ)) return false;
+
+        long key = SectionPos.asLong(secX, secY, secZ);
+        if (emptySections.contains(key)) return true;
+
+        long[] mask = freeMask(key);
+        if (mask == null) return false;
+        for (long word : mask) {
+            if (word != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether some cell on the face of section {@code (secX, secY, secZ)}
+     * towards {@code +axis} is free on both sides of the face.
+     *
+     * @param axis 0 = x, 1 = y, 2 = z
+     */
+    public boolean isFaceOpen(int secX, int secY, int secZ, int axis) {
+        int baseX = (secX << 4) + (axis == 0 ? 15 : 0);
+        int baseY = (secY << 4) + (axis == 1 ? 15 : 0);
+        int baseZ = (secZ << 4) + (axis == 2 ? 15 : 0);
+
+        for (int a = 0; a < 16; a++) {
+            for (int b = 0; b < 16; b++) {
+                int x = baseX, y = baseY, z = baseZ;
+                switch (axis) {
+                    case 0 -> { y += a; z += b; }
+                    case 1 -> { x += a; z += b; }
+                    default -> { x += a; y += b; }
+                }
+                if (isFree(x, y, z)
+                        && isFree(x + (axis == 0 ? 1 : 0), y + (axis == 1 ? 1 : 0), z + (axis == 2 ? 1 : 0))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public boolean inBox(int secX, int secY, int secZ) {
+        return secX >= minSecX && secX <= maxSecX
+                && secY >= minSecY && secY <= maxSecY
+                && secZ >= minSecZ && secZ <= maxSecZ;
+    }
+
+    @Nullable
+    private long[] freeMask(long key) {
+        long[] mask = freeMasks.get(key);
+        if (mask != null) return mask;
+
+        PalettedContainer<BlockState> states = sections.get(key);
+        if (states == null) return null;
+
+        int originX = SectionPos.sectionToBlockCoord(SectionPos.x(key));
+        int originY = SectionPos.sectionToBlockCoord(SectionPos.y(key));
+        int originZ = SectionPos.sectionToBlockCoord(SectionPos.z(key));
+
+        mask = new long[64];
+        for (int bit = 0; bit < 4096; bit++) {
+            int lx = bit & 15;
+            int lz = (bit >>> 4) & 15;
+            int ly = bit >>> 8;
+
+            BlockState state = states.get(lx, ly, lz);
+            probe.set(originX + lx, originY + ly, originZ + lz);
+            if (state.getCollisionShape(this, probe).isEmpty()) {
+                mask[bit >>> 6] |= 1L << bit;
+            }
+        }
+        freeMasks.put(key, mask);
+        return mask;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* BlockGetter                                                  */
+    /* ------------------------------------------------------------ */
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return getBlockState(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    public BlockState getBlockState(int x, int y, int z) {
+        int secX = SectionPos.blockToSectionCoord(x);
+        int secY = SectionPos.blockToSectionCoord(y);
+        int secZ = SectionPos.blockToSectionCoord(z);
+
+        if (!inBox(secX, secY, secZ)) {
+            return UNKNOWN;
+        }
+
+        long key = SectionPos.asLong(secX, secY, secZ);
+        PalettedContainer<BlockState> states = sections.get(key);
+        if (states != null) {
+            return states.get(x & 15, y & 15, z & 15);
+        }
+        return emptySections.contains(key) ? AIR : UNKNOWN;
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public @Nullable BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return minBuildHeight;
+    }
+}
@@ -3,10 +3,12 @@ package com.uemc.assistance_drone.events;
 import com.uemc.assistance_drone.AssistanceDrone;
 import com.uemc.assistance_drone.entities.ModEntities;
 import com.uemc.assistance_drone.entities.drone.DroneEntity;
+import com.uemc.assistance_drone.site.SiteChunkTickets;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
+import net.neoforged.neoforge.common.world.chunk.RegisterTicketControllersEvent;
 import net.neoforged.neoforge.event.entity.EntityAttributeCreationEvent;
 
 @EventBusSubscriber(modid = AssistanceDrone.MODID)
@@ -25,4 +27,9 @@ public class DroneCommonEvents {
                 (drone, context) -> drone.getInventory()
         );
     }
-}
\ No newline at end of file
+
+    @SubscribeEvent
+    public static void registerTicketControllers(RegisterTicketControllersEvent event) {
+        event.register(SiteChunkTickets.CONTROLLER);
+    }
+}
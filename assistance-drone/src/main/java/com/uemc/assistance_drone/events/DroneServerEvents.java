@@ -0,0 +1,64 @@
+package com.uemc.assistance_drone.events;
+
+import com.uemc.assistance_drone.AssistanceDrone;
+import com.uemc.assistance_drone.entities.drone.MiningProfiles;
+import com.uemc.assistance_drone.scheduler.DroneWorkScheduler;
+import com.uemc.assistance_drone.site.SiteChunkTickets;
+import com.uemc.assistance_drone.site.SiteRuntimeCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
+import net.neoforged.neoforge.event.entity.EntityLeaveLevelEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+/**
+ * Game-bus hooks for the server-side drone infrastructure: shared site
+ * runtimes and their item indexes, site chunk tickets, the work scheduler
+ * and caches that must follow reloads.
+ */
+@EventBusSubscriber(modid = AssistanceDrone.MODID)
+public class DroneServerEvents {
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        SiteRuntimeCache.tick(event.getServer());
+        SiteChunkTickets.tick(event.getServer());
+        DroneWorkScheduler.tick();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        DroneWorkScheduler.clear();
+    }
+
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        MiningProfiles.invalidate();
+    }
+
+    @SubscribeEvent
+    public static void onEntityJoinLevel(EntityJoinLevelEvent event) {
+        if (event.getEntity() instanceof ItemEntity item && event.getLevel() instanceof ServerLevel level) {
+            SiteRuntimeCache.onItemJoined(level, item);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeaveLevel(EntityLeaveLevelEvent event) {
+        if (event.getEntity() instanceof ItemEntity item && event.getLevel() instanceof ServerLevel level) {
+            SiteRuntimeCache.onItemLeft(level, item);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            SiteRuntimeCache.clear(level);
+        }
+    }
+}
@@ -18,6 +18,7 @@ import net.minecraft.world.level.block.state.BlockState;
 
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Item used to define a rectangular site selection in the world.
@@ -49,6 +50,24 @@ public class SitePlanner extends Item {
         return stack.get(SiteMarkersRegister.END_POS);
     }
 
+    @Nullable
+    public static UUID getSiteId(ItemStack stack) {
+        return stack.get(SiteMarkersRegister.SITE_ID);
+    }
+
+    /**
+     * Returns the site id of a configured planner, assigning a new one to
+     * planners made before ids existed. Server side only.
+     */
+    public static UUID getOrCreateSiteId(ItemStack stack) {
+        UUID id = getSiteId(stack);
+        if (id == null) {
+            id = UUID.randomUUID();
+            stack.set(SiteMarkersRegister.SITE_ID, id);
+        }
+        return id;
+    }
+
     /**
      * Returns whether the item has a complete and valid selection.
      */
@@ -114,6 +133,7 @@ public class SitePlanner extends Item {
             }
 
             setEndPos(stack, clickedPos);
+            stack.set(SiteMarkersRegister.SITE_ID, UUID.randomUUID());
             player.displayClientMessage(
                     Component.translatable(
                             ModKeys.GUI_SITE_PLANNER_END_SET,
@@ -316,5 +336,6 @@ public class SitePlanner extends Item {
     private void clearSelection(ItemStack stack) {
         stack.remove(SiteMarkersRegister.START_POS);
         stack.remove(SiteMarkersRegister.END_POS);
+        stack.remove(SiteMarkersRegister.SITE_ID);
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.uemc.assistance_drone.menus;
 import com.mojang.datafixers.util.Pair;
 import com.uemc.assistance_drone.AssistanceDrone;
 import com.uemc.assistance_drone.entities.drone.DroneEntity;
+import com.uemc.assistance_drone.entities.drone.DroneInventory;
 import com.uemc.assistance_drone.items.ModItems;
 import com.uemc.assistance_drone.items.SitePlanner;
 import com.uemc.assistance_drone.util.ModKeys;
@@ -14,8 +15,6 @@ import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.InventoryMenu;
 import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
-import net.neoforged.neoforge.items.IItemHandler;
-import net.neoforged.neoforge.items.ItemStackHandler;
 import net.neoforged.neoforge.items.SlotItemHandler;
 import org.jetbrains.annotations.NotNull;
 
@@ -57,10 +56,10 @@ public class DroneMenu extends AbstractContainerMenu {
             this.drone = null;
         }
 
-        IItemHandler handler =
+        DroneInventory handler =
                 this.drone != null
                         ? this.drone.getInventory()
-                        : new ItemStackHandler(13);
+                        : new DroneInventory();
 
         initializeSlots(playerInventory, handler);
     }
@@ -71,7 +70,7 @@ public class DroneMenu extends AbstractContainerMenu {
 
     private void initializeSlots(
             Inventory playerInventory,
-            IItemHandler handler
+            DroneInventory handler
     ) {
         // Site Planner slot
         this.addSlot(new SlotItemHandler(handler, 0, 117, 52) {
@@ -94,6 +93,11 @@ public class DroneMenu extends AbstractContainerMenu {
             public boolean mayPickup(Player player) {
                 return drone != null;
             }
+
+            @Override
+            public void setChanged() {
+                handler.refreshSlot(getSlotIndex());
+            }
         });
 
         // Drone storage slots
@@ -116,6 +120,12 @@ public class DroneMenu extends AbstractContainerMenu {
                     public boolean mayPickup(Player player) {
                         return drone != null;
                     }
+
+                    // Menu clicks resize the slot stack in place
+                    @Override
+                    public void setChanged() {
+                        handler.refreshSlot(getSlotIndex());
+                    }
                 });
             }
         }
@@ -0,0 +1,24 @@
+package com.uemc.assistance_drone.mixin;
+
+import net.minecraft.world.entity.item.ItemEntity;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+import java.util.UUID;
+
+/**
+ * Exposes who dropped an item entity and who may pick it up, so site item
+ * merging can apply the same restrictions as vanilla merging.
+ */
+@Mixin(ItemEntity.class)
+public interface ItemEntityAccessor {
+
+    @Accessor("thrower")
+    @Nullable
+    UUID assistanceDrone$getThrower();
+
+    @Accessor("target")
+    @Nullable
+    UUID assistanceDrone$getTarget();
+}
@@ -0,0 +1,26 @@
+package com.uemc.assistance_drone.mixin;
+
+import com.uemc.assistance_drone.site.SiteBlockTracker;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Forwards every server-side block state change to {@link SiteBlockTracker}.
+ * <p>
+ * {@code onBlockStateChange} runs for all successful {@code setBlock} calls
+ * regardless of update flags, so site indexes also see fluid spread and
+ * flag-2 updates that never fire neighbour notifications.
+ */
+@Mixin(ServerLevel.class)
+public class ServerLevelMixin {
+
+    @Inject(method = "onBlockStateChange", at = @At("TAIL"))
+    private void assistanceDrone$notifySites(BlockPos pos, BlockState oldState, BlockState newState, CallbackInfo ci) {
+        SiteBlockTracker.onBlockStateChange((ServerLevel) (Object) this, pos, oldState, newState);
+    }
+}
@@ -0,0 +1,125 @@
+package com.uemc.assistance_drone.scheduler;
+
+import com.uemc.assistance_drone.Config;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Server-wide queue for heavy drone work with a per-tick time budget.
+ * <p>
+ * Goals and site runtimes submit {@link WorkUnit}s instead of running scans
+ * inline. Once per server tick {@link #tick()} steps queued units until the
+ * configured budget ({@link Config#getWorkBudgetNanos()}) is used up; the
+ * rest waits for the next tick. The mod's share of the tick therefore stays
+ * bounded no matter how many drones are working.
+ * <p>
+ * Units are grouped by an owner key (usually the owning player, or the site
+ * for shared work). Owners are served round-robin, and so are the units of
+ * each owner, so one player with many drones cannot starve another.
+ * At least one step runs per tick so queued work always progresses.
+ * Server thread only.
+ */
+public final class DroneWorkScheduler {
+
+    private DroneWorkScheduler() {}
+
+    private static final Map<Object, ArrayDeque<WorkUnit>> QUEUES = new HashMap<>();
+    private static final ArrayDeque<Object> OWNER_ROTATION = new ArrayDeque<>();
+    private static final List<Parked> PARKED = new ArrayList<>();
+
+    private record Parked(Object owner, WorkUnit unit) {}
+
+    private static long lastTickNanos = 0L;
+    private static long lastTickSteps = 0L;
+
+    /**
+     * Queues a unit under {@code owner}. The caller is responsible for not
+     * submitting the same unit twice while it is still pending.
+     */
+    public static void submit(Object owner, WorkUnit unit) {
+        ArrayDeque<WorkUnit> queue = QUEUES.get(owner);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            QUEUES.put(owner, queue);
+            OWNER_ROTATION.addLast(owner);
+        }
+        queue.addLast(unit);
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Execution                                                    */
+    /* ------------------------------------------------------------ */
+
+    public static void tick() {
+        if (OWNER_ROTATION.isEmpty()) {
+            lastTickNanos = 0L;
+            lastTickSteps = 0L;
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + Config.getWorkBudgetNanos();
+        long steps = 0;
+
+        while (!OWNER_ROTATION.isEmpty()) {
+            Object owner = OWNER_ROTATION.pollFirst();
+            ArrayDeque<WorkUnit> queue = QUEUES.get(owner);
+
+            WorkUnit unit = queue.pollFirst();
+            if (unit != null && !unit.isCancelled()) {
+                steps++;
+                switch (unit.step()) {
+                    case MORE -> queue.addLast(unit);
+                    case WAIT -> PARKED.add(new Parked(owner, unit));
+                    case DONE -> {}
+                }
+            }
+
+            if (queue.isEmpty()) {
+                QUEUES.remove(owner);
+            } else {
+                OWNER_ROTATION.addLast(owner);
+            }
+
+            if (System.nanoTime() >= deadline) break;
+        }
+
+        // Waiting units rejoin behind everything else for the next tick
+        for (Parked parked : PARKED) {
+            submit(parked.owner(), parked.unit());
+        }
+        PARKED.clear();
+
+        lastTickNanos = System.nanoTime() - start;
+        lastTickSteps = steps;
+    }
+
+    /** Drops all pending work. Called when the server stops. */
+    public static void clear() {
+        QUEUES.clear();
+        OWNER_ROTATION.clear();
+        PARKED.clear();
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Statistics                                                   */
+    /* ------------------------------------------------------------ */
+
+    public static int getPendingUnits() {
+        int total = 0;
+        for (ArrayDeque<WorkUnit> queue : QUEUES.values()) total += queue.size();
+        return total;
+    }
+
+    public static long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public static long getLastTickSteps() {
+        return lastTickSteps;
+    }
+}
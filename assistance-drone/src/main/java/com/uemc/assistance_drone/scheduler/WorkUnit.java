@@ -0,0 +1,31 @@
+package com.uemc.assistance_drone.scheduler;
+
+/**
+ * A resumable piece of heavy drone work, executed in small steps by the
+ * {@link DroneWorkScheduler}.
+ * <p>
+ * Each call to {@link #step()} must do a bounded amount of work (a scan
+ * slice, one section, a batch of positions...) and keep its own cursor, so
+ * the scheduler can stop between steps once the tick budget is spent.
+ */
+public interface WorkUnit {
+
+    enum Result {
+        /** The unit has finished and is dropped. */
+        DONE,
+        /** More work remains; the unit may be stepped again this tick. */
+        MORE,
+        /** The unit cannot progress now (e.g. chunk not loaded); retry next tick. */
+        WAIT
+    }
+
+    Result step();
+
+    /**
+     * Units whose owner went away report {@code true} here and are discarded
+     * without being stepped.
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
@@ -0,0 +1,113 @@
+package com.uemc.assistance_drone.site;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Dispatches server-side block changes to the site components that care about them.
+ * <p>
+ * Listeners subscribe with a bounding box; the box is expanded to the chunk
+ * sections it touches so the per-change cost is a single hash lookup on the
+ * section key. Block changes outside any subscribed section return immediately,
+ * which keeps the hook cheap for the rest of the world.
+ * <p>
+ * Fed by {@code ServerLevelMixin}. Server thread only.
+ */
+public final class SiteBlockTracker {
+
+    private SiteBlockTracker() {}
+
+    @FunctionalInterface
+    public interface Listener {
+        void onBlockChanged(ServerLevel level, BlockPos pos, BlockState oldState, BlockState newState);
+    }
+
+    private static final Map<ServerLevel, Long2ObjectMap<List<Listener>>> LISTENERS = new IdentityHashMap<>();
+
+    /* ------------------------------------------------------------ */
+    /* Subscription                                                 */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Subscribes {@code listener} to every section intersecting {@code bounds}
+     * grown by {@code margin} blocks on each face.
+     */
+    public static void register(ServerLevel level, SiteBounds bounds, int margin, Listener listener) {
+        Long2ObjectMap<List<Listener>> sections =
+                LISTENERS.computeIfAbsent(level, l -> new Long2ObjectOpenHashMap<>());
+
+        forEachSection(bounds, margin, key ->
+                sections.computeIfAbsent(key, k -> new ArrayList<>(2)).add(listener));
+    }
+
+    public static void unregister(ServerLevel level, SiteBounds bounds, int margin, Listener listener) {
+        Long2ObjectMap<List<Listener>> sections = LISTENERS.get(level);
+        if (sections == null) return;
+
+        forEachSection(bounds, margin, key -> {
+            List<Listener> list = sections.get(key);
+            if (list == null) return;
+            list.remove(listener);
+            if (list.isEmpty()) sections.remove(key);
+        });
+
+        if (sections.isEmpty()) LISTENERS.remove(level);
+    }
+
+    /** Drops every subscription for a level that is being unloaded. */
+    public static void clear(ServerLevel level) {
+        LISTENERS.remove(level);
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Dispatch                                                     */
+    /* ------------------------------------------------------------ */
+
+    public static void onBlockStateChange(ServerLevel level, BlockPos pos, BlockState oldState, BlockState newState) {
+        if (LISTENERS.isEmpty()) return;
+
+        Long2ObjectMap<List<Listener>> sections = LISTENERS.get(level);
+        if (sections == null) return;
+
+        List<Listener> list = sections.get(SectionPos.asLong(pos));
+        if (list == null) return;
+
+        // Listeners may unsubscribe while handling the change
+        for (int i = list.size() - 1; i >= 0; i--) {
+            if (i < list.size()) {
+                list.get(i).onBlockChanged(level, pos, oldState, newState);
+            }
+        }
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Helpers                                                      */
+    /* ------------------------------------------------------------ */
+
+    private static void forEachSection(SiteBounds bounds, int margin, LongConsumer consumer) {
+        int minSecX = SectionPos.blockToSectionCoord(bounds.minX() - margin);
+        int maxSecX = SectionPos.blockToSectionCoord(bounds.maxX() + margin);
+        int minSecY = SectionPos.blockToSectionCoord(bounds.minY() - margin);
+        int maxSecY = SectionPos.blockToSectionCoord(bounds.maxY() + margin);
+        int minSecZ = SectionPos.blockToSectionCoord(bounds.minZ() - margin);
+        int maxSecZ = SectionPos.blockToSectionCoord(bounds.maxZ() + margin);
+
+        for (int sx = minSecX; sx <= maxSecX; sx++) {
+            for (int sy = minSecY; sy <= maxSecY; sy++) {
+                for (int sz = minSecZ; sz <= maxSecZ; sz++) {
+                    consumer.accept(SectionPos.asLong(sx, sy, sz));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.uemc.assistance_drone.site;
+
+import com.uemc.assistance_drone.items.SitePlanner;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable description of a Site Planner selection.
+ * <p>
+ * Keeps the raw start and end markers (traversal order depends on which
+ * corner the player marked first) together with the normalized min/max
+ * coordinates, so hot loops do not have to re-derive them.
+ */
+public record SiteBounds(BlockPos start, BlockPos end,
+                         int minX, int minY, int minZ,
+                         int maxX, int maxY, int maxZ) {
+
+    public static SiteBounds of(BlockPos start, BlockPos end) {
+        return new SiteBounds(
+                start.immutable(), end.immutable(),
+                Math.min(start.getX(), end.getX()),
+                Math.min(start.getY(), end.getY()),
+                Math.min(start.getZ(), end.getZ()),
+                Math.max(start.getX(), end.getX()),
+                Math.max(start.getY(), end.getY()),
+                Math.max(start.getZ(), end.getZ())
+        );
+    }
+
+    /**
+     * Reads the bounds stored on a Site Planner stack.
+     *
+     * @return the bounds, or {@code null} if the planner is not configured
+     */
+    @Nullable
+    public static SiteBounds fromPlanner(ItemStack planner) {
+        if (!SitePlanner.isConfigured(planner)) return null;
+        return of(SitePlanner.getStartPos(planner), SitePlanner.getEndPos(planner));
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Dimensions                                                   */
+    /* ------------------------------------------------------------ */
+
+    public int sizeX() {
+        return maxX - minX + 1;
+    }
+
+    public int sizeY() {
+        return maxY - minY + 1;
+    }
+
+    public int sizeZ() {
+        return maxZ - minZ + 1;
+    }
+
+    /** Number of cells in a single horizontal layer. */
+    public int layerArea() {
+        return sizeX() * sizeZ();
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Queries                                                      */
+    /* ------------------------------------------------------------ */
+
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX
+                && y >= minY && y <= maxY
+                && z >= minZ && z <= maxZ;
+    }
+
+    public boolean contains(BlockPos pos) {
+        return contains(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /** Same as {@link #contains(int, int, int)} but with every face pushed out by {@code margin}. */
+    public boolean containsInflated(int x, int y, int z, int margin) {
+        return x >= minX - margin && x <= maxX + margin
+                && y >= minY - margin && y <= maxY + margin
+                && z >= minZ - margin && z <= maxZ + margin;
+    }
+
+    /**
+     * Stable identifier of the selection, suitable for persisting.
+     * Unlike {@link #hashCode()} it is derived only from the raw markers,
+     * which also encode the traversal direction.
+     */
+    public long fingerprint() {
+        return start.asLong() * 31L + end.asLong();
+    }
+
+    /**
+     * Index of the column {@code (x, z)} inside a layer, row-major on X.
+     * Callers must ensure the coordinates are inside the bounds.
+     */
+    public int columnIndex(int x, int z) {
+        return (x - minX) + (z - minZ) * sizeX();
+    }
+}
@@ -0,0 +1,127 @@
+package com.uemc.assistance_drone.site;
+
+import com.uemc.assistance_drone.AssistanceDrone;
+import com.uemc.assistance_drone.Config;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.neoforge.common.world.chunk.TicketController;
+import net.neoforged.neoforge.common.world.chunk.TicketHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Optional forced-chunk tickets that keep a site running with no player nearby.
+ * <p>
+ * When {@link Config#isForceSiteChunks()} is on, a drone with mining work
+ * left {@linkplain #hold holds} a ticking ticket, owned by the job id, on the
+ * chunks covering the site and its one-block margin, and nothing else. The
+ * tickets are dropped when the traversal finishes, when the selection moves,
+ * or once no drone reported work for {@value #IDLE_RELEASE_TICKS} ticks
+ * (the drone was removed or switched off). Tickets survive restarts through
+ * NeoForge; on load, those of jobs that no longer hold any are discarded.
+ * Server thread only.
+ */
+public final class SiteChunkTickets {
+
+    private SiteChunkTickets() {}
+
+    private static final long IDLE_RELEASE_TICKS = 600L;
+    private static final int SWEEP_INTERVAL_TICKS = 200;
+
+    public static final TicketController CONTROLLER = new TicketController(
+            ResourceLocation.fromNamespaceAndPath(AssistanceDrone.MODID, "site_chunks"),
+            SiteChunkTickets::validate
+    );
+
+    /* ------------------------------------------------------------ */
+    /* Holding                                                      */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Records that {@code job} has work left and, if the mode is enabled,
+     * makes sure its chunks are forced. Cheap enough to call every tick.
+     */
+    public static void hold(ServerLevel level, SiteJob job) {
+        if (!Config.isForceSiteChunks()) {
+            release(level, job);
+            return;
+        }
+
+        job.markWorked(level.getGameTime());
+
+        SiteBounds forced = job.getForcedBounds();
+        if (job.getBounds().equals(forced)) return;
+
+        if (forced != null) setForced(level, job.getId(), forced, false);
+        setForced(level, job.getId(), job.getBounds(), true);
+        job.setForcedBounds(job.getBounds());
+    }
+
+    /** Drops the tickets of {@code job}, if it holds any. */
+    public static void release(ServerLevel level, SiteJob job) {
+        SiteBounds forced = job.getForcedBounds();
+        if (forced == null) return;
+
+        setForced(level, job.getId(), forced, false);
+        job.setForcedBounds(null);
+    }
+
+    private static void setForced(ServerLevel level, UUID owner, SiteBounds bounds, boolean add) {
+        int minChunkX = (bounds.minX() - SiteRuntime.LISTEN_MARGIN) >> 4;
+        int maxChunkX = (bounds.maxX() + SiteRuntime.LISTEN_MARGIN) >> 4;
+        int minChunkZ = (bounds.minZ() - SiteRuntime.LISTEN_MARGIN) >> 4;
+        int maxChunkZ = (bounds.maxZ() + SiteRuntime.LISTEN_MARGIN) >> 4;
+
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                CONTROLLER.forceChunk(level, owner, cx, cz, add, true);
+            }
+        }
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Lifecycle                                                    */
+    /* ------------------------------------------------------------ */
+
+    /** Releases the tickets of jobs nobody worked on recently. */
+    public static void tick(MinecraftServer server) {
+        if (server.getTickCount() % SWEEP_INTERVAL_TICKS != 0) return;
+
+        for (ServerLevel level : server.getAllLevels()) {
+            SiteJobRegistry registry = SiteJobRegistry.getIfPresent(level);
+            if (registry == null) continue;
+
+            long now = level.getGameTime();
+            List<SiteJob> idle = new ArrayList<>();
+
+            for (SiteJob job : registry.getJobs()) {
+                if (job.getForcedBounds() == null) continue;
+
+                if (job.getLastWorkTick() < 0L) {
+                    // Forced before a restart: give the drones time to check in
+                    job.markWorked(now);
+                } else if (!Config.isForceSiteChunks() || now - job.getLastWorkTick() > IDLE_RELEASE_TICKS) {
+                    idle.add(job);
+                }
+            }
+
+            idle.forEach(job -> release(level, job));
+        }
+    }
+
+    /** Discards restored tickets whose job is gone or no longer holds them. */
+    private static void validate(ServerLevel level, TicketHelper helper) {
+        SiteJobRegistry registry = SiteJobRegistry.getIfPresent(level);
+
+        for (UUID owner : List.copyOf(helper.getEntityTickets().keySet())) {
+            SiteJob job = registry == null ? null : registry.getJob(owner);
+            if (job == null || job.getForcedBounds() == null || !Config.isForceSiteChunks()) {
+                helper.removeAllTickets(owner);
+                if (job != null) job.setForcedBounds(null);
+            }
+        }
+    }
+}
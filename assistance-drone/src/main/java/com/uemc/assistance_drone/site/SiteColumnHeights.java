@@ -0,0 +1,139 @@
+package com.uemc.assistance_drone.site;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.EmptyBlockGetter;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import java.util.Arrays;
+
+/**
+ * Heightmap-style view of a site: for every column, the first obstructed
+ * cell met going from the start layer towards the end layer.
+ * <p>
+ * A cell is obstructed when its block has a collision shape or holds a
+ * fluid, the same test a collider ray trace with fluids makes. Columns are
+ * resolved lazily, skipping whole sections whose palette cannot hold an
+ * obstructing state, and kept current from {@link SiteBlockTracker}
+ * notifications: a closer obstruction replaces the cached value, clearing
+ * the cached cell makes the column resolve again on the next query.
+ * Columns in unloaded chunks are never loaded. Server thread only.
+ */
+public final class SiteColumnHeights {
+
+    /** The column is clear all the way to the end layer. */
+    public static final int NONE = Integer.MAX_VALUE;
+    /** The column could not be resolved because its chunk is not loaded. */
+    public static final int UNAVAILABLE = Integer.MIN_VALUE;
+
+    private static final int UNKNOWN = Integer.MIN_VALUE + 1;
+
+    private final SiteBounds bounds;
+    private final int startY, endY, step;
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+    private int[] first;
+
+    public SiteColumnHeights(SiteBounds bounds) {
+        this.bounds = bounds;
+        this.startY = bounds.start().getY();
+        this.endY = bounds.end().getY();
+        this.step = endY > startY ? 1 : -1;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Queries                                                      */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Returns the Y of the first obstructed cell of column ({@code x}, {@code z})
+     * from the start layer towards the end layer, {@link #NONE} if there is
+     * none, or {@link #UNAVAILABLE} if its chunk is not loaded.
+     */
+    public int firstObstruction(ServerLevel level, int x, int z) {
+        if (!bounds.contains(x, bounds.minY(), z)) return UNAVAILABLE;
+
+        if (first == null) {
+            first = new int[bounds.layerArea()];
+            Arrays.fill(first, UNKNOWN);
+        }
+
+        int column = columnOf(x, z);
+        if (first[column] == UNKNOWN) {
+            LevelChunk chunk = level.getChunkSource().getChunkNow(x >> 4, z >> 4);
+            if (chunk == null) return UNAVAILABLE;
+            first[column] = resolve(level, chunk, x, z);
+        }
+        return first[column];
+    }
+
+    private int resolve(ServerLevel level, LevelChunk chunk, int x, int z) {
+        int y = startY;
+        while (true) {
+            int index = chunk.getSectionIndex(y);
+            if (index >= 0 && index < chunk.getSectionsCount()) {
+                LevelChunkSection section = chunk.getSection(index);
+
+                if (section.hasOnlyAir() || !section.getStates().maybeHas(SiteColumnHeights::mayObstruct)) {
+                    // Nothing in this section can stop the column: jump to its far edge
+                    int edge = step > 0
+                            ? SectionPos.sectionToBlockCoord(SectionPos.blockToSectionCoord(y)) + 15
+                            : SectionPos.sectionToBlockCoord(SectionPos.blockToSectionCoord(y));
+                    if (step > 0 ? edge >= endY : edge <= endY) return NONE;
+                    y = edge + step;
+                    continue;
+                }
+
+                cursor.set(x, y, z);
+                if (obstructs(level, cursor, section.getBlockState(x & 15, y & 15, z & 15))) return y;
+            }
+
+            if (y == endY) return NONE;
+            y += step;
+        }
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Updates                                                      */
+    /* ------------------------------------------------------------ */
+
+    /** Applies a block change reported by {@link SiteBlockTracker}. */
+    void onBlockChanged(ServerLevel level, BlockPos pos, BlockState newState) {
+        if (first == null || !bounds.contains(pos)) return;
+
+        int column = columnOf(pos.getX(), pos.getZ());
+        int cached = first[column];
+        if (cached == UNKNOWN) return;
+
+        int y = pos.getY();
+        boolean closer = cached == NONE || (step > 0 ? y < cached : y > cached);
+
+        if (obstructs(level, pos, newState)) {
+            if (closer) first[column] = y;
+        } else if (y == cached) {
+            first[column] = UNKNOWN;
+        }
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Helpers                                                      */
+    /* ------------------------------------------------------------ */
+
+    private int columnOf(int x, int z) {
+        return (z - bounds.minZ()) * bounds.sizeX() + (x - bounds.minX());
+    }
+
+    private static boolean obstructs(ServerLevel level, BlockPos pos, BlockState state) {
+        return !state.getFluidState().isEmpty() || !state.getCollisionShape(level, pos).isEmpty();
+    }
+
+    /** Palette-level filter; position-dependent shapes are checked per cell. */
+    private static boolean mayObstruct(BlockState state) {
+        return !state.isAir()
+                && (!state.getFluidState().isEmpty()
+                || state.hasDynamicShape()
+                || !state.getCollisionShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO).isEmpty());
+    }
+}
@@ -0,0 +1,330 @@
+package com.uemc.assistance_drone.site;
+
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Shared navigation field over a site and a one-block margin around it.
+ * <p>
+ * Every free cell stores its 6-connected flight distance to the working
+ * plane: the layer of free cells right above (or below, when the site is
+ * mined upwards) the layer currently being mined, restricted to the site
+ * columns. Once a drone is on that plane its target is a horizontal move
+ * away, so following the field replaces the old X→Z→Y corner path and the
+ * obstacles it had to dig through. A step is O(1): look at six neighbours
+ * and move to the lowest.
+ * <p>
+ * Occupancy is read once through a budgeted scan and afterwards kept current
+ * from {@link SiteBlockTracker} notifications. Freed cells are relaxed
+ * incrementally: the notification handles at most
+ * {@value #RELAX_CELLS_INLINE} cells and leaves the rest of the wave to the
+ * budgeted build steps. A cell that becomes blocked only marks the field
+ * {@linkplain #isStale() stale}, and the owning {@link SiteRuntime} schedules
+ * a rebuild of the distances. Sites larger than {@value #MAX_CELLS} cells get
+ * no field. Server thread only.
+ */
+public final class SiteFlowField {
+
+    private static final int MAX_CELLS = 1 << 18;
+    private static final int SCAN_CELLS_PER_STEP = 4096;
+    private static final int BFS_CELLS_PER_STEP = 8192;
+    private static final int RELAX_CELLS_INLINE = 64;
+    private static final short UNREACHED = Short.MAX_VALUE;
+    public static final int NO_LAYER = Integer.MIN_VALUE;
+
+    private static final int[][] DIRECTIONS = {
+            {1, 0, 0}, {-1, 0, 0}, {0, 1, 0}, {0, -1, 0}, {0, 0, 1}, {0, 0, -1}
+    };
+
+    private final SiteBounds bounds;
+    private final int x0, y0, z0, sizeX, sizeY, sizeZ;
+    private final boolean available;
+    private final int layerStep;
+
+    private long[] free;
+    private short[] distances;
+    private final IntArrayFIFOQueue frontier = new IntArrayFIFOQueue();
+    private final IntArrayFIFOQueue relaxQueue = new IntArrayFIFOQueue();
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+
+    private int scanCursor = 0;
+    private boolean scanned = false;
+    private boolean seeded = false;
+    private boolean ready = false;
+    private boolean stale = false;
+    private int workLayer = NO_LAYER;
+
+    public SiteFlowField(SiteBounds bounds) {
+        this.bounds = bounds;
+        this.x0 = bounds.minX() - SiteRuntime.LISTEN_MARGIN;
+        this.y0 = bounds.minY() - SiteRuntime.LISTEN_MARGIN;
+        this.z0 = bounds.minZ() - SiteRuntime.LISTEN_MARGIN;
+        this.sizeX = bounds.sizeX() + 2 * SiteRuntime.LISTEN_MARGIN;
+        this.sizeY = bounds.sizeY() + 2 * SiteRuntime.LISTEN_MARGIN;
+        this.sizeZ = bounds.sizeZ() + 2 * SiteRuntime.LISTEN_MARGIN;
+        this.available = (long) sizeX * sizeY * sizeZ <= MAX_CELLS;
+        this.layerStep = bounds.end().getY() > bounds.start().getY() ? 1 : -1;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Queries                                                      */
+    /* ------------------------------------------------------------ */
+
+    /** Whether the site is small enough to have a field at all. */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /** Whether distances are complete for the current working layer. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Whether a cell became blocked since the distances were computed. */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /** Layer the field currently leads to, or {@link #NO_LAYER}. */
+    public int getWorkLayer() {
+        return workLayer;
+    }
+
+    /**
+     * Returns the neighbouring cell to fly to from {@code pos}, or
+     * {@code null} when the field is not ready, {@code pos} is outside it or
+     * already on the working plane, or no neighbour leads closer.
+     */
+    @Nullable
+    public BlockPos nextStep(BlockPos pos) {
+        if (!ready) return null;
+
+        int index = indexOf(pos.getX(), pos.getY(), pos.getZ());
+        if (index < 0) return null;
+
+        int best = distances[index];
+        if (best == 0 || best == UNREACHED) return null;
+
+        BlockPos step = null;
+        for (int[] d : DIRECTIONS) {
+            int x = pos.getX() + d[0];
+            int y = pos.getY() + d[1];
+            int z = pos.getZ() + d[2];
+            int neighbour = indexOf(x, y, z);
+            if (neighbour >= 0 && distances[neighbour] < best) {
+                best = distances[neighbour];
+                step = new BlockPos(x, y, z);
+            }
+        }
+        return step;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Construction                                                 */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Restarts the distances towards layer {@code layerY}, or drops them when
+     * it is {@link #NO_LAYER}. The occupancy scan is kept.
+     */
+    public void rebuild(int layerY) {
+        workLayer = layerY;
+        seeded = false;
+        ready = false;
+        stale = false;
+        frontier.clear();
+        relaxQueue.clear();
+    }
+
+    /**
+     * Advances the occupancy scan by {@value #SCAN_CELLS_PER_STEP} cells, or
+     * the distance propagation or the relaxation of freed cells by
+     * {@value #BFS_CELLS_PER_STEP} cells.
+     *
+     * @return {@code false} if the scan is blocked on an unloaded chunk
+     */
+    public boolean advanceBuild(ServerLevel level) {
+        if (!available) return true;
+
+        if (ready) {
+            propagate(relaxQueue, BFS_CELLS_PER_STEP);
+            return true;
+        }
+
+        if (!scanned) return advanceScan(level);
+
+        if (workLayer == NO_LAYER) return true;
+
+        if (!seeded) {
+            seed();
+            return true;
+        }
+
+        propagate(frontier, BFS_CELLS_PER_STEP);
+        ready = frontier.isEmpty();
+        return true;
+    }
+
+    /** Whether {@link #advanceBuild} has work left. */
+    public boolean isBuilding() {
+        return available
+                && ((!ready && (!scanned || workLayer != NO_LAYER)) || !relaxQueue.isEmpty());
+    }
+
+    private boolean advanceScan(ServerLevel level) {
+        if (free == null) {
+            int cells = sizeX * sizeY * sizeZ;
+            free = new long[(cells + 63) >>> 6];
+            distances = new short[cells];
+            Arrays.fill(distances, UNREACHED);
+        }
+
+        int end = Math.min(scanCursor + SCAN_CELLS_PER_STEP, distances.length);
+        LevelChunk chunk = null;
+
+        while (scanCursor < end) {
+            int x = x0 + scanCursor % sizeX;
+            int rest = scanCursor / sizeX;
+            int z = z0 + rest % sizeZ;
+            int y = y0 + rest / sizeZ;
+
+            if (chunk == null || chunk.getPos().x != (x >> 4) || chunk.getPos().z != (z >> 4)) {
+                chunk = level.getChunkSource().getChunkNow(x >> 4, z >> 4);
+                if (chunk == null) return false;
+            }
+
+            cursor.set(x, y, z);
+            setFree(scanCursor, chunk.getBlockState(cursor).getCollisionShape(level, cursor).isEmpty());
+            scanCursor++;
+        }
+
+        scanned = scanCursor >= distances.length;
+        return true;
+    }
+
+    private void seed() {
+        Arrays.fill(distances, UNREACHED);
+        frontier.clear();
+        relaxQueue.clear();
+
+        int planeY = workLayer - layerStep;
+        if (planeY >= y0 && planeY < y0 + sizeY) {
+            for (int z = bounds.minZ(); z <= bounds.maxZ(); z++) {
+                for (int x = bounds.minX(); x <= bounds.maxX(); x++) {
+                    int index = indexOf(x, planeY, z);
+                    if (isFree(index)) {
+                        distances[index] = 0;
+                        frontier.enqueue(index);
+                    }
+                }
+            }
+        }
+        seeded = true;
+    }
+
+    /** Breadth-first relaxation of up to {@code budget} cells from {@code queue}. */
+    private void propagate(IntArrayFIFOQueue queue, int budget) {
+        for (int processed = 0; processed < budget && !queue.isEmpty(); processed++) {
+            int index = queue.dequeueInt();
+            int next = distances[index] + 1;
+            if (next >= UNREACHED) continue;
+
+            int x = x0 + index % sizeX;
+            int rest = index / sizeX;
+            int z = z0 + rest % sizeZ;
+            int y = y0 + rest / sizeZ;
+
+            for (int[] d : DIRECTIONS) {
+                int neighbour = indexOf(x + d[0], y + d[1], z + d[2]);
+                if (neighbour < 0 || !isFree(neighbour) || distances[neighbour] <= next) continue;
+
+                distances[neighbour] = (short) next;
+                queue.enqueue(neighbour);
+            }
+        }
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Updates                                                      */
+    /* ------------------------------------------------------------ */
+
+    /** Applies a block change reported by {@link SiteBlockTracker}. */
+    public void onBlockChanged(ServerLevel level, BlockPos pos, BlockState newState) {
+        if (free == null) return;
+
+        int index = indexOf(pos.getX(), pos.getY(), pos.getZ());
+        if (index < 0) return;
+        if (!scanned && index >= scanCursor) return; // the scan has not read it yet
+
+        boolean nowFree = newState.getCollisionShape(level, pos).isEmpty();
+        if (nowFree == isFree(index)) return;
+        setFree(index, nowFree);
+
+        if (!seeded) return;
+
+        if (nowFree) {
+            relaxFreed(index, pos);
+        } else if (distances[index] != UNREACHED) {
+            distances[index] = UNREACHED;
+            stale = true;
+        }
+    }
+
+    /**
+     * Gives a freed cell its distance and lets shorter routes through it
+     * spread. Only the first {@value #RELAX_CELLS_INLINE} cells are handled
+     * here; the rest stays queued for {@link #advanceBuild}, see
+     * {@link #isBuilding()}.
+     */
+    private void relaxFreed(int index, BlockPos pos) {
+        int best = UNREACHED;
+
+        if (pos.getY() == workLayer - layerStep
+                && bounds.contains(pos.getX(), bounds.minY(), pos.getZ())) {
+            best = 0;
+        } else {
+            for (int[] d : DIRECTIONS) {
+                int neighbour = indexOf(pos.getX() + d[0], pos.getY() + d[1], pos.getZ() + d[2]);
+                if (neighbour >= 0 && distances[neighbour] != UNREACHED) {
+                    best = Math.min(best, distances[neighbour] + 1);
+                }
+            }
+        }
+
+        if (best >= distances[index]) return;
+
+        distances[index] = (short) best;
+        relaxQueue.enqueue(index);
+        propagate(relaxQueue, RELAX_CELLS_INLINE);
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Storage                                                      */
+    /* ------------------------------------------------------------ */
+
+    private int indexOf(int x, int y, int z) {
+        int lx = x - x0;
+        int ly = y - y0;
+        int lz = z - z0;
+        if (lx < 0 || ly < 0 || lz < 0 || lx >= sizeX || ly >= sizeY || lz >= sizeZ) return -1;
+        return (ly * sizeZ + lz) * sizeX + lx;
+    }
+
+    private boolean isFree(int index) {
+        return (free[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private void setFree(int index, boolean value) {
+        if (value) {
+            free[index >>> 6] |= 1L << index;
+        } else {
+            free[index >>> 6] &= ~(1L << index);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.uemc.assistance_drone.site;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Change log of the fluids in the sections of a site.
+ * <p>
+ * Every block change that involves a fluid on either side bumps a global
+ * epoch and stamps the section it happened in. A cell on a section face also
+ * stamps the neighbouring section, since fluid analysis looks one block
+ * across. A scanner remembers the epoch at which its last pass started and
+ * rescans only the sections stamped after it. Server thread only.
+ */
+public final class SiteFluidSections {
+
+    private final Long2LongOpenHashMap changedAt = new Long2LongOpenHashMap();
+    private long epoch = 0L;
+
+    public SiteFluidSections() {
+        changedAt.defaultReturnValue(-1L);
+    }
+
+    /** Epoch to record when a pass starts; later changes are seen by the next pass. */
+    public long currentEpoch() {
+        return epoch;
+    }
+
+    /** Whether any fluid changed after {@code since}. */
+    public boolean hasChangesSince(long since) {
+        return epoch > since;
+    }
+
+    /** Whether a fluid changed in or next to section {@code sectionKey} after {@code since}. */
+    public boolean changedSince(long sectionKey, long since) {
+        return changedAt.get(sectionKey) > since;
+    }
+
+    void onBlockChanged(BlockPos pos, BlockState oldState, BlockState newState) {
+        if (oldState.getFluidState().isEmpty() && newState.getFluidState().isEmpty()) return;
+
+        epoch++;
+
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        int secX = SectionPos.blockToSectionCoord(x);
+        int secY = SectionPos.blockToSectionCoord(y);
+        int secZ = SectionPos.blockToSectionCoord(z);
+
+        stamp(secX, secY, secZ);
+
+        int lx = x & 15;
+        int ly = y & 15;
+        int lz = z & 15;
+        if (lx == 0) stamp(secX - 1, secY, secZ);
+        if (lx == 15) stamp(secX + 1, secY, secZ);
+        if (ly == 0) stamp(secX, secY - 1, secZ);
+        if (ly == 15) stamp(secX, secY + 1, secZ);
+        if (lz == 0) stamp(secX, secY, secZ - 1);
+        if (lz == 15) stamp(secX, secY, secZ + 1);
+    }
+
+    private void stamp(int secX, int secY, int secZ) {
+        changedAt.put(SectionPos.asLong(secX, secY, secZ), epoch);
+    }
+}
@@ -0,0 +1,417 @@
+package com.uemc.assistance_drone.site;
+
+import com.uemc.assistance_drone.mixin.ItemEntityAccessor;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Item entities lying in a site, bucketed by chunk section.
+ * <p>
+ * Fed from entity join and leave events through {@link SiteRuntimeCache},
+ * so drones look at a handful of nearby cells instead of running entity
+ * queries over the whole site box. Items keep moving after they join (they
+ * fall into the quarry, slide, get pushed by water), so every query first
+ * moves the entries of the cells it reads to the cell they are in now. Items
+ * that drift in from outside are picked up by a full reconcile every
+ * {@value #RECONCILE_INTERVAL_TICKS} ticks.
+ * <p>
+ * Once {@value #MERGE_TRIGGER} new items have joined, the owning runtime runs
+ * a merge pass one cell per step: matching stacks lying within
+ * {@value #MERGE_RADIUS} blocks of each other, in the same cell or across a
+ * section face, are folded into the younger entity, the way vanilla merges
+ * items lying on top of each other but over a wider reach and with the same
+ * thrower and target restrictions. Drones then have fewer targets to route through and the
+ * level fewer entities to tick. Server thread only.
+ */
+public final class SiteItemIndex {
+
+    /** Items this far outside the site still count as lying in it. */
+    static final int MARGIN = 2;
+
+    private static final long RECONCILE_INTERVAL_TICKS = 1200L;
+    private static final long NO_CELL = Long.MIN_VALUE;
+    private static final int MERGE_TRIGGER = 16;
+    private static final double MERGE_RADIUS = 3.0;
+    private static final double MERGE_RADIUS_SQR = MERGE_RADIUS * MERGE_RADIUS;
+    /** {@code ItemEntity} age of items that never despawn; vanilla never merges them. */
+    private static final int NEVER_DESPAWN_AGE = Short.MIN_VALUE;
+
+    private final AABB area;
+    private final int minSecX, maxSecX, minSecY, maxSecY, minSecZ, maxSecZ;
+    private final Long2ObjectOpenHashMap<List<ItemEntity>> cells = new Long2ObjectOpenHashMap<>();
+    private final Int2LongOpenHashMap cellOf = new Int2LongOpenHashMap();
+    private final List<ItemEntity> scratch = new ArrayList<>();
+    private long lastReconcileTick = -RECONCILE_INTERVAL_TICKS;
+
+    private final LongArrayList mergeCells = new LongArrayList();
+    private int mergeCursor = 0;
+    private int joinedSinceMerge = 0;
+
+    public SiteItemIndex(SiteBounds bounds) {
+        this.area = new AABB(
+                bounds.minX() - MARGIN, bounds.minY() - MARGIN, bounds.minZ() - MARGIN,
+                bounds.maxX() + 1 + MARGIN, bounds.maxY() + 1 + MARGIN, bounds.maxZ() + 1 + MARGIN
+        );
+        this.minSecX = SectionPos.blockToSectionCoord((int) Math.floor(area.minX));
+        this.minSecY = SectionPos.blockToSectionCoord((int) Math.floor(area.minY));
+        this.minSecZ = SectionPos.blockToSectionCoord((int) Math.floor(area.minZ));
+        this.maxSecX = SectionPos.blockToSectionCoord((int) Math.floor(area.maxX));
+        this.maxSecY = SectionPos.blockToSectionCoord((int) Math.floor(area.maxY));
+        this.maxSecZ = SectionPos.blockToSectionCoord((int) Math.floor(area.maxZ));
+        this.cellOf.defaultReturnValue(NO_CELL);
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Queries                                                      */
+    /* ------------------------------------------------------------ */
+
+    /** Number of indexed items, alive or not yet noticed as gone. */
+    public int size() {
+        return cellOf.size();
+    }
+
+    /** Whether {@code box} lies entirely in the indexed area, so {@link #collectIn} sees everything in it. */
+    public boolean contains(AABB box) {
+        return box.minX >= area.minX && box.minY >= area.minY && box.minZ >= area.minZ
+                && box.maxX <= area.maxX && box.maxY <= area.maxY && box.maxZ <= area.maxZ;
+    }
+
+    /**
+     * Adds to {@code out} the live items whose position lies in {@code box}.
+     * Only the indexed part of {@code box} is searched.
+     */
+    public void collectIn(ServerLevel level, AABB box, List<ItemEntity> out) {
+        reconcileIfDue(level);
+
+        LongArrayList keys = sectionsIn(box);
+        for (int i = 0; i < keys.size(); i++) relocate(keys.getLong(i));
+
+        for (int i = 0; i < keys.size(); i++) {
+            List<ItemEntity> list = cells.get(keys.getLong(i));
+            if (list == null) continue;
+
+            for (ItemEntity item : list) {
+                if (box.contains(item.position())) out.add(item);
+            }
+        }
+    }
+
+    /**
+     * Adds to {@code out} the {@code limit} live items accepted by
+     * {@code filter} that are closest to {@code from}, nearest first. Cells
+     * are read ring by ring around the section of {@code from}, relocating
+     * only the cells actually read, and the search stops as soon as no
+     * unread ring can hold a closer item.
+     */
+    public void collectNearest(ServerLevel level, Vec3 from, int limit,
+                               Predicate<ItemEntity> filter, List<ItemEntity> out) {
+        reconcileIfDue(level);
+        if (cells.isEmpty() || limit <= 0) return;
+
+        int cx = SectionPos.blockToSectionCoord((int) Math.floor(from.x));
+        int cy = SectionPos.blockToSectionCoord((int) Math.floor(from.y));
+        int cz = SectionPos.blockToSectionCoord((int) Math.floor(from.z));
+        int maxRing = Math.max(
+                Math.max(Math.abs(cx - minSecX), Math.abs(cx - maxSecX)),
+                Math.max(Math.max(Math.abs(cy - minSecY), Math.abs(cy - maxSecY)),
+                        Math.max(Math.abs(cz - minSecZ), Math.abs(cz - maxSecZ))));
+
+        scratch.clear();
+        double worst = Double.MAX_VALUE;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Cells of this ring are at least (ring - 1) sections away along some axis
+            double reach = Math.max(0, ring - 1) * 16.0;
+            if (scratch.size() >= limit && reach * reach > worst) break;
+
+            int x0 = Math.max(cx - ring, minSecX), x1 = Math.min(cx + ring, maxSecX);
+            int y0 = Math.max(cy - ring, minSecY), y1 = Math.min(cy + ring, maxSecY);
+            int z0 = Math.max(cz - ring, minSecZ), z1 = Math.min(cz + ring, maxSecZ);
+
+            for (int x = x0; x <= x1; x++) {
+                for (int y = y0; y <= y1; y++) {
+                    if (Math.abs(x - cx) == ring || Math.abs(y - cy) == ring) {
+                        for (int z = z0; z <= z1; z++) readNearest(SectionPos.asLong(x, y, z), filter);
+                    } else {
+                        // Inside the shell along x and y: only its two z faces belong to the ring
+                        if (cz - ring >= z0) readNearest(SectionPos.asLong(x, y, cz - ring), filter);
+                        if (cz + ring <= z1) readNearest(SectionPos.asLong(x, y, cz + ring), filter);
+                    }
+                }
+            }
+
+            if (scratch.size() >= limit) {
+                scratch.sort(Comparator.comparingDouble(item -> item.distanceToSqr(from)));
+                scratch.subList(limit, scratch.size()).clear();
+                worst = scratch.get(limit - 1).distanceToSqr(from);
+            }
+        }
+
+        scratch.sort(Comparator.comparingDouble(item -> item.distanceToSqr(from)));
+        out.addAll(scratch);
+        scratch.clear();
+    }
+
+    private void readNearest(long key, Predicate<ItemEntity> filter) {
+        if (!cells.containsKey(key)) return;
+
+        relocate(key);
+        List<ItemEntity> list = cells.get(key);
+        if (list == null) return;
+
+        for (ItemEntity item : list) {
+            if (filter.test(item)) scratch.add(item);
+        }
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Updates                                                      */
+    /* ------------------------------------------------------------ */
+
+    boolean covers(ItemEntity item) {
+        return area.contains(item.position());
+    }
+
+    /**
+     * Indexes an item entity that lies in the site.
+     *
+     * @return {@code true} if the item was not indexed before
+     */
+    boolean add(ItemEntity item) {
+        if (!item.isAlive() || !covers(item)) return false;
+
+        long key = keyOf(item);
+        long previous = cellOf.put(item.getId(), key);
+        if (previous == key) return false;
+        if (previous != NO_CELL) removeFromCell(previous, item);
+
+        cells.computeIfAbsent(key, k -> new ArrayList<>(4)).add(item);
+        if (previous != NO_CELL) return false;
+
+        joinedSinceMerge++;
+        return true;
+    }
+
+    void remove(ItemEntity item) {
+        long key = cellOf.remove(item.getId());
+        if (key != NO_CELL) removeFromCell(key, item);
+    }
+
+    /** Re-reads every item in the site box. */
+    void rebuild(ServerLevel level) {
+        cells.clear();
+        cellOf.clear();
+        mergeCells.clear();
+        mergeCursor = 0;
+        level.getEntitiesOfClass(ItemEntity.class, area).forEach(this::add);
+        lastReconcileTick = level.getGameTime();
+    }
+
+    private void reconcileIfDue(ServerLevel level) {
+        if (level.getGameTime() - lastReconcileTick >= RECONCILE_INTERVAL_TICKS) {
+            rebuild(level);
+        }
+    }
+
+    /** Drops dead entries of a cell and moves the others to the cell they are in now. */
+    private void relocate(long key) {
+        List<ItemEntity> list = cells.get(key);
+        if (list == null) return;
+
+        for (int i = list.size() - 1; i >= 0; i--) {
+            ItemEntity item = list.get(i);
+            boolean alive = item.isAlive() && !item.getItem().isEmpty();
+            if (alive && keyOf(item) == key) continue;
+
+            swapRemove(list, i);
+            cellOf.remove(item.getId());
+            if (alive) add(item);
+        }
+
+        if (list.isEmpty()) cells.remove(key);
+    }
+
+    private void removeFromCell(long key, ItemEntity item) {
+        List<ItemEntity> list = cells.get(key);
+        if (list == null) return;
+
+        int index = list.indexOf(item);
+        if (index >= 0) swapRemove(list, index);
+        if (list.isEmpty()) cells.remove(key);
+    }
+
+    private static void swapRemove(List<ItemEntity> list, int index) {
+        int last = list.size() - 1;
+        list.set(index, list.get(last));
+        list.remove(last);
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Merging                                                      */
+    /* ------------------------------------------------------------ */
+
+    /** Whether enough items joined since the last merge pass to start another. */
+    boolean wantsMerge() {
+        return joinedSinceMerge >= MERGE_TRIGGER;
+    }
+
+    /**
+     * Starts a merge pass over every non-empty cell; a single item may still
+     * merge with one just across a section face.
+     */
+    void startMerge() {
+        mergeCells.clear();
+        mergeCursor = 0;
+        joinedSinceMerge = 0;
+        mergeCells.addAll(cells.keySet());
+    }
+
+    /**
+     * Merges the items of the next {@code cellBudget} cells of the pass.
+     *
+     * @return {@code true} once the pass is finished
+     */
+    boolean advanceMerge(int cellBudget) {
+        for (int i = 0; i < cellBudget && mergeCursor < mergeCells.size(); i++) {
+            mergeCell(mergeCells.getLong(mergeCursor++));
+        }
+
+        if (mergeCursor < mergeCells.size()) return false;
+
+        mergeCells.clear();
+        mergeCursor = 0;
+        return true;
+    }
+
+    /**
+     * Merges the items of a cell with each other and with the items of the
+     * face-adjacent cells that lie within {@value #MERGE_RADIUS} blocks of it.
+     */
+    private void mergeCell(long key) {
+        relocate(key);
+        List<ItemEntity> list = cells.get(key);
+        if (list == null) return;
+
+        // Discarded items leave the index through the leave event, so work on a copy
+        scratch.clear();
+        scratch.addAll(list);
+        int own = scratch.size();
+
+        AABB reach = sectionBox(key).inflate(MERGE_RADIUS);
+        for (Direction dir : Direction.values()) {
+            List<ItemEntity> neighbours = cells.get(SectionPos.offset(key, dir));
+            if (neighbours == null) continue;
+
+            for (ItemEntity item : neighbours) {
+                if (reach.contains(item.position())) scratch.add(item);
+            }
+        }
+
+        // Pairs inside the neighbours are left to their own cells
+        for (int i = 0; i < own; i++) {
+            ItemEntity first = scratch.get(i);
+
+            for (int j = i + 1; j < scratch.size() && canMerge(first); j++) {
+                ItemEntity second = scratch.get(j);
+                if (!canMerge(second)) continue;
+                if (!ItemEntity.areMergable(first.getItem(), second.getItem())) continue;
+                if (!sameOwnership(first, second)) continue;
+                if (first.distanceToSqr(second) > MERGE_RADIUS_SQR) continue;
+
+                if (first.getAge() <= second.getAge()) {
+                    transfer(second, first);
+                } else {
+                    transfer(first, second);
+                }
+            }
+        }
+        scratch.clear();
+    }
+
+    /** Moves as much of {@code from} into {@code into} as fits; {@code from} is discarded once empty. */
+    private static void transfer(ItemEntity from, ItemEntity into) {
+        ItemStack source = from.getItem();
+        ItemStack target = into.getItem();
+
+        int moved = Math.min(target.getMaxStackSize() - target.getCount(), source.getCount());
+        if (moved <= 0) return;
+
+        into.setItem(target.copyWithCount(target.getCount() + moved));
+        if (moved == source.getCount()) {
+            from.discard();
+        } else {
+            from.setItem(source.copyWithCount(source.getCount() - moved));
+        }
+    }
+
+    /** Vanilla only merges items dropped by and meant for the same entities. */
+    private static boolean sameOwnership(ItemEntity first, ItemEntity second) {
+        ItemEntityAccessor a = (ItemEntityAccessor) first;
+        ItemEntityAccessor b = (ItemEntityAccessor) second;
+        return Objects.equals(a.assistanceDrone$getTarget(), b.assistanceDrone$getTarget())
+                && Objects.equals(a.assistanceDrone$getThrower(), b.assistanceDrone$getThrower());
+    }
+
+    private static boolean canMerge(ItemEntity item) {
+        ItemStack stack = item.getItem();
+        return item.isAlive()
+                && !stack.isEmpty()
+                && stack.getCount() < stack.getMaxStackSize()
+                && !item.hasPickUpDelay()
+                && item.getAge() != NEVER_DESPAWN_AGE;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Geometry                                                     */
+    /* ------------------------------------------------------------ */
+
+    private static long keyOf(ItemEntity item) {
+        return SectionPos.asLong(
+                SectionPos.blockToSectionCoord(item.getBlockX()),
+                SectionPos.blockToSectionCoord(item.getBlockY()),
+                SectionPos.blockToSectionCoord(item.getBlockZ())
+        );
+    }
+
+    private static AABB sectionBox(long key) {
+        int x = SectionPos.sectionToBlockCoord(SectionPos.x(key));
+        int y = SectionPos.sectionToBlockCoord(SectionPos.y(key));
+        int z = SectionPos.sectionToBlockCoord(SectionPos.z(key));
+        return new AABB(x, y, z, x + 16, y + 16, z + 16);
+    }
+
+    private LongArrayList sectionsIn(AABB box) {
+        AABB clipped = box.intersect(area);
+        int minX = SectionPos.blockToSectionCoord((int) Math.floor(clipped.minX));
+        int minY = SectionPos.blockToSectionCoord((int) Math.floor(clipped.minY));
+        int minZ = SectionPos.blockToSectionCoord((int) Math.floor(clipped.minZ));
+        int maxX = SectionPos.blockToSectionCoord((int) Math.floor(clipped.maxX));
+        int maxY = SectionPos.blockToSectionCoord((int) Math.floor(clipped.maxY));
+        int maxZ = SectionPos.blockToSectionCoord((int) Math.floor(clipped.maxZ));
+
+        LongArrayList keys = new LongArrayList();
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    long key = SectionPos.asLong(x, y, z);
+                    if (cells.containsKey(key)) keys.add(key);
+                }
+            }
+        }
+        return keys;
+    }
+}
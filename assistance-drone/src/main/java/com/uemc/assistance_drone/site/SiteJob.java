@@ -0,0 +1,249 @@
+package com.uemc.assistance_drone.site;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persistent state of one site, identified by the id stored on its planner.
+ * <p>
+ * Holds what is expensive to rediscover and worth sharing between every
+ * drone carrying a copy of the planner: the bounds, the layer the quarry
+ * was working on, the dump containers found on the perimeter and the fluid
+ * threats that were detected but not sealed yet. It also records which
+ * chunks {@link SiteChunkTickets} keeps loaded for it. Moving or resizing the
+ * selection keeps the id but drops the derived data. Instances belong to a
+ * {@link SiteJobRegistry}, which is marked dirty on every change.
+ */
+public final class SiteJob {
+
+    public static final int NO_LAYER = Integer.MIN_VALUE;
+
+    private static final String ID_KEY = "Id";
+    private static final String START_KEY = "Start";
+    private static final String END_KEY = "End";
+    private static final String PROGRESS_LAYER_KEY = "ProgressLayer";
+    private static final String CONTAINERS_KEY = "Containers";
+    private static final String CONTAINERS_SCANNED_KEY = "ContainersScannedAt";
+    private static final String FLUID_THREATS_KEY = "FluidThreats";
+    private static final String LAST_USED_KEY = "LastUsed";
+    private static final String FORCED_START_KEY = "ForcedStart";
+    private static final String FORCED_END_KEY = "ForcedEnd";
+
+    /** Last-use timestamps alone dirty the registry at most this often. */
+    private static final long TOUCH_SAVE_INTERVAL = 1200L;
+
+    private final SiteJobRegistry registry;
+    private final UUID id;
+    private SiteBounds bounds;
+
+    private int progressLayer = NO_LAYER;
+    private final LongSet containers = new LongOpenHashSet();
+    private long containersScannedAt = -1L;
+    private final LongSet fluidThreats = new LongOpenHashSet();
+    /** Not saved: bumped on every change of {@link #fluidThreats}. */
+    private int fluidThreatsVersion = 0;
+    private long lastUsedTick;
+
+    /** Bounds the chunk tickets were taken for, or {@code null} when none are held. */
+    @Nullable
+    private SiteBounds forcedBounds;
+    /** Not saved: after a restart the idle timer starts over. */
+    private long lastWorkTick = -1L;
+
+    SiteJob(SiteJobRegistry registry, UUID id, SiteBounds bounds, long now) {
+        this.registry = registry;
+        this.id = id;
+        this.bounds = bounds;
+        this.lastUsedTick = now;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Accessors                                                    */
+    /* ------------------------------------------------------------ */
+
+    public UUID getId() {
+        return id;
+    }
+
+    public SiteBounds getBounds() {
+        return bounds;
+    }
+
+    /** Layer the mining traversal last worked on, or {@link #NO_LAYER}. */
+    public int getProgressLayer() {
+        return progressLayer;
+    }
+
+    public void setProgressLayer(int layerY) {
+        if (progressLayer == layerY) return;
+        progressLayer = layerY;
+        registry.setDirty();
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Dump containers                                              */
+    /* ------------------------------------------------------------ */
+
+    /** Game time of the last completed perimeter scan, or {@code -1}. */
+    public long getContainersScannedAt() {
+        return containersScannedAt;
+    }
+
+    public List<BlockPos> getContainers() {
+        List<BlockPos> list = new ArrayList<>(containers.size());
+        containers.forEach(packed -> list.add(BlockPos.of(packed)));
+        return list;
+    }
+
+    public void setContainers(Collection<BlockPos> found, long now) {
+        containers.clear();
+        found.forEach(pos -> containers.add(pos.asLong()));
+        containersScannedAt = now;
+        registry.setDirty();
+    }
+
+    public void removeContainer(BlockPos pos) {
+        if (containers.remove(pos.asLong())) registry.setDirty();
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Fluid threats                                                */
+    /* ------------------------------------------------------------ */
+
+    public boolean hasFluidThreats() {
+        return !fluidThreats.isEmpty();
+    }
+
+    public List<BlockPos> getFluidThreats() {
+        List<BlockPos> list = new ArrayList<>(fluidThreats.size());
+        fluidThreats.forEach(packed -> list.add(BlockPos.of(packed)));
+        return list;
+    }
+
+    /** Changes whenever a threat is added or removed, so readers can skip unchanged sets. */
+    public int getFluidThreatsVersion() {
+        return fluidThreatsVersion;
+    }
+
+    public void addFluidThreat(BlockPos pos) {
+        if (fluidThreats.add(pos.asLong())) {
+            fluidThreatsVersion++;
+            registry.setDirty();
+        }
+    }
+
+    public void removeFluidThreat(BlockPos pos) {
+        if (fluidThreats.remove(pos.asLong())) {
+            fluidThreatsVersion++;
+            registry.setDirty();
+        }
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Lifecycle                                                    */
+    /* ------------------------------------------------------------ */
+
+    long getLastUsedTick() {
+        return lastUsedTick;
+    }
+
+    /** Records use so the job does not expire. Cheap enough to call every tick. */
+    public void touch(long now) {
+        if (now - lastUsedTick < TOUCH_SAVE_INTERVAL) return;
+        lastUsedTick = now;
+        registry.setDirty();
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Chunk tickets                                                */
+    /* ------------------------------------------------------------ */
+
+    @Nullable
+    SiteBounds getForcedBounds() {
+        return forcedBounds;
+    }
+
+    void setForcedBounds(@Nullable SiteBounds bounds) {
+        forcedBounds = bounds;
+        registry.setDirty();
+    }
+
+    long getLastWorkTick() {
+        return lastWorkTick;
+    }
+
+    void markWorked(long now) {
+        lastWorkTick = now;
+    }
+
+    /** Moves the job to new bounds, dropping everything derived from the old ones. */
+    void rebind(SiteBounds newBounds) {
+        bounds = newBounds;
+        progressLayer = NO_LAYER;
+        containers.clear();
+        containersScannedAt = -1L;
+        fluidThreats.clear();
+        fluidThreatsVersion++;
+        registry.setDirty();
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Persistence                                                  */
+    /* ------------------------------------------------------------ */
+
+    CompoundTag save() {
+        CompoundTag tag = new CompoundTag();
+        tag.putUUID(ID_KEY, id);
+        tag.putLong(START_KEY, bounds.start().asLong());
+        tag.putLong(END_KEY, bounds.end().asLong());
+        tag.putInt(PROGRESS_LAYER_KEY, progressLayer);
+        tag.putLongArray(CONTAINERS_KEY, containers.toLongArray());
+        tag.putLong(CONTAINERS_SCANNED_KEY, containersScannedAt);
+        tag.putLongArray(FLUID_THREATS_KEY, fluidThreats.toLongArray());
+        tag.putLong(LAST_USED_KEY, lastUsedTick);
+        if (forcedBounds != null) {
+            tag.putLong(FORCED_START_KEY, forcedBounds.start().asLong());
+            tag.putLong(FORCED_END_KEY, forcedBounds.end().asLong());
+        }
+        return tag;
+    }
+
+    @Nullable
+    static SiteJob load(SiteJobRegistry registry, CompoundTag tag) {
+        if (!tag.hasUUID(ID_KEY)
+                || !tag.contains(START_KEY, Tag.TAG_LONG)
+                || !tag.contains(END_KEY, Tag.TAG_LONG)) {
+            return null;
+        }
+
+        SiteJob job = new SiteJob(
+                registry,
+                tag.getUUID(ID_KEY),
+                SiteBounds.of(BlockPos.of(tag.getLong(START_KEY)), BlockPos.of(tag.getLong(END_KEY))),
+                tag.getLong(LAST_USED_KEY)
+        );
+
+        if (tag.contains(PROGRESS_LAYER_KEY, Tag.TAG_INT)) {
+            job.progressLayer = tag.getInt(PROGRESS_LAYER_KEY);
+        }
+        for (long packed : tag.getLongArray(CONTAINERS_KEY)) job.containers.add(packed);
+        if (tag.contains(CONTAINERS_SCANNED_KEY, Tag.TAG_LONG)) {
+            job.containersScannedAt = tag.getLong(CONTAINERS_SCANNED_KEY);
+        }
+        for (long packed : tag.getLongArray(FLUID_THREATS_KEY)) job.fluidThreats.add(packed);
+        if (tag.contains(FORCED_START_KEY, Tag.TAG_LONG) && tag.contains(FORCED_END_KEY, Tag.TAG_LONG)) {
+            job.forcedBounds = SiteBounds.of(
+                    BlockPos.of(tag.getLong(FORCED_START_KEY)), BlockPos.of(tag.getLong(FORCED_END_KEY)));
+        }
+        return job;
+    }
+}
@@ -0,0 +1,122 @@
+package com.uemc.assistance_drone.site;
+
+import com.uemc.assistance_drone.AssistanceDrone;
+import com.uemc.assistance_drone.items.SitePlanner;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.saveddata.SavedData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-level registry of {@link SiteJob}s, saved with the level.
+ * <p>
+ * Jobs are keyed by the site id stored on the Site Planner, so every copy of
+ * a planner resolves to the same job no matter which drone carries it.
+ * Jobs nobody resolved for {@value #EXPIRY_TICKS} ticks are dropped.
+ * Server thread only.
+ */
+public final class SiteJobRegistry extends SavedData {
+
+    private static final String DATA_NAME = AssistanceDrone.MODID + "_site_jobs";
+    private static final String JOBS_KEY = "Jobs";
+
+    /** Seven in-game days. */
+    private static final long EXPIRY_TICKS = 7L * 24000L;
+
+    private final Map<UUID, SiteJob> jobs = new HashMap<>();
+
+    private static final SavedData.Factory<SiteJobRegistry> FACTORY =
+            new SavedData.Factory<>(SiteJobRegistry::new, SiteJobRegistry::load, null);
+
+    public static SiteJobRegistry get(ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(FACTORY, DATA_NAME);
+    }
+
+    /** Like {@link #get}, but never creates the data for a level that has none. */
+    @Nullable
+    static SiteJobRegistry getIfPresent(ServerLevel level) {
+        return level.getDataStorage().get(FACTORY, DATA_NAME);
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Lookup                                                       */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Returns the job of a configured planner, creating it on first use and
+     * rebinding it if the selection was moved or resized since.
+     *
+     * @return the job, or {@code null} if the planner is not configured
+     */
+    @Nullable
+    public SiteJob resolve(ItemStack planner, long now) {
+        SiteBounds bounds = SiteBounds.fromPlanner(planner);
+        if (bounds == null) return null;
+
+        UUID id = SitePlanner.getOrCreateSiteId(planner);
+        SiteJob job = jobs.get(id);
+
+        if (job == null) {
+            pruneExpired(now);
+            job = new SiteJob(this, id, bounds, now);
+            jobs.put(id, job);
+            setDirty();
+        } else if (!job.getBounds().equals(bounds)) {
+            job.rebind(bounds);
+        }
+
+        job.touch(now);
+        return job;
+    }
+
+    @Nullable
+    SiteJob getJob(UUID id) {
+        return jobs.get(id);
+    }
+
+    Collection<SiteJob> getJobs() {
+        return jobs.values();
+    }
+
+    private void pruneExpired(long now) {
+        if (jobs.values().removeIf(job -> job.getForcedBounds() == null
+                && now - job.getLastUsedTick() > EXPIRY_TICKS)) {
+            setDirty();
+        }
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Persistence                                                  */
+    /* ------------------------------------------------------------ */
+
+    @Override
+    public @NotNull CompoundTag save(@NotNull CompoundTag tag, HolderLookup.@NotNull Provider registries) {
+        ListTag list = new ListTag();
+        for (SiteJob job : jobs.values()) {
+            list.add(job.save());
+        }
+        tag.put(JOBS_KEY, list);
+        return tag;
+    }
+
+    private static SiteJobRegistry load(CompoundTag tag, HolderLookup.Provider registries) {
+        SiteJobRegistry registry = new SiteJobRegistry();
+
+        ListTag list = tag.getList(JOBS_KEY, Tag.TAG_COMPOUND);
+        for (int i = 0; i < list.size(); i++) {
+            SiteJob job = SiteJob.load(registry, list.getCompound(i));
+            if (job != null) registry.jobs.put(job.getId(), job);
+        }
+        return registry;
+    }
+}
@@ -0,0 +1,129 @@
+package com.uemc.assistance_drone.site;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Work partitioning between the drones sharing a site.
+ * <p>
+ * A drone mines a cell only while it holds the lease on it. Leases last
+ * {@value #LEASE_TICKS} ticks and are renewed every tick the drone keeps
+ * working the cell, so a drone that stalls or leaves loses its cells to the
+ * others without any explicit hand-over. A lease ends as soon as its cell no
+ * longer holds a minable block.
+ * <p>
+ * Drones also register as participants. Each one gets a stable slot, which
+ * the mining goal turns into a different starting point on the layer spiral,
+ * so the drones work disjoint stretches instead of queueing behind each
+ * other. Participants that stop checking in for
+ * {@value #PARTICIPANT_TIMEOUT_TICKS} ticks drop out. Server thread only.
+ */
+public final class SiteLeases {
+
+    public static final long LEASE_TICKS = 100L;
+    private static final long PARTICIPANT_TIMEOUT_TICKS = 200L;
+    private static final int PURGE_THRESHOLD = 256;
+
+    private record Lease(UUID holder, long expiryTick) {}
+
+    /** Position of a participant among {@code count} live ones. */
+    public record Slot(int index, int count) {
+        public static final Slot ALONE = new Slot(0, 1);
+    }
+
+    private final Long2ObjectOpenHashMap<Lease> leases = new Long2ObjectOpenHashMap<>();
+    private final Map<UUID, Long> participants = new LinkedHashMap<>();
+
+    /* ------------------------------------------------------------ */
+    /* Leases                                                       */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Takes or renews the lease on {@code pos}.
+     *
+     * @return {@code false} if another drone holds a live lease on it
+     */
+    public boolean tryAcquire(BlockPos pos, UUID holder, long now) {
+        long key = pos.asLong();
+        Lease lease = leases.get(key);
+
+        if (lease != null && now < lease.expiryTick && !lease.holder.equals(holder)) {
+            return false;
+        }
+
+        if (lease == null && leases.size() >= PURGE_THRESHOLD) {
+            purgeExpired(now);
+        }
+        leases.put(key, new Lease(holder, now + LEASE_TICKS));
+        return true;
+    }
+
+    /** Whether a drone other than {@code holder} holds a live lease on {@code pos}. */
+    public boolean isHeldByOther(BlockPos pos, UUID holder, long now) {
+        Lease lease = leases.get(pos.asLong());
+        return lease != null && now < lease.expiryTick && !lease.holder.equals(holder);
+    }
+
+    public void release(BlockPos pos, UUID holder) {
+        long key = pos.asLong();
+        Lease lease = leases.get(key);
+        if (lease != null && lease.holder.equals(holder)) {
+            leases.remove(key);
+        }
+    }
+
+    /** Drops the lease on a cell that no longer holds a minable block. */
+    void onCellCleared(BlockPos pos) {
+        if (!leases.isEmpty()) {
+            leases.remove(pos.asLong());
+        }
+    }
+
+    private void purgeExpired(long now) {
+        leases.values().removeIf(lease -> now >= lease.expiryTick);
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Participants                                                 */
+    /* ------------------------------------------------------------ */
+
+    /** Registers or refreshes a participant. Cheap enough to call every tick. */
+    public void join(UUID drone, long now) {
+        participants.put(drone, now);
+    }
+
+    /**
+     * Removes a participant and every lease it holds.
+     */
+    public void leave(UUID drone) {
+        participants.remove(drone);
+        leases.values().removeIf(lease -> lease.holder.equals(drone));
+    }
+
+    /**
+     * Returns the slot of {@code drone} among the live participants, in join
+     * order. A drone that has not joined is treated as the only participant.
+     */
+    public Slot slotOf(UUID drone, long now) {
+        int slot = -1;
+        int live = 0;
+
+        Iterator<Map.Entry<UUID, Long>> it = participants.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<UUID, Long> entry = it.next();
+            if (now - entry.getValue() > PARTICIPANT_TIMEOUT_TICKS) {
+                it.remove();
+                continue;
+            }
+            if (entry.getKey().equals(drone)) slot = live;
+            live++;
+        }
+
+        return slot < 0 ? Slot.ALONE : new Slot(slot, live);
+    }
+}
@@ -0,0 +1,263 @@
+package com.uemc.assistance_drone.site;
+
+import com.uemc.assistance_drone.entities.drone.DroneAiLogic;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.EmptyBlockGetter;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+/**
+ * Per-site bitset of the cells that still hold a minable block.
+ * <p>
+ * The index is built once from the chunk section palettes: all-air sections
+ * and sections whose palette cannot contain a minable state are skipped
+ * without touching individual blocks. Construction is spread over several
+ * scheduler steps ({@value #BUILD_SECTIONS_PER_STEP} sections per step) and afterwards
+ * the index is kept current through {@link SiteBlockTracker} notifications,
+ * so "are there targets left" is O(1) and "next target in this layer" is
+ * O(words) instead of a full volume rescan.
+ * <p>
+ * Sections whose chunk is not loaded during the sweep are recorded as
+ * unknown instead of blocking it: the index becomes ready over the loaded
+ * part, so mining can start there, and the unknown sections are retried every
+ * {@value #UNLOADED_RETRY_TICKS} ticks until their chunks show up.
+ * <p>
+ * Layer {@code y} occupies {@code wordsPerLayer} consecutive longs; a cell's
+ * bit is {@link SiteBounds#columnIndex(int, int)}.
+ */
+public final class SiteMiningIndex {
+
+    private static final int BUILD_SECTIONS_PER_STEP = 2;
+    private static final long UNLOADED_RETRY_TICKS = 40L;
+
+    private final SiteBounds bounds;
+    private final int wordsPerLayer;
+    private final long[] bits;
+    private final int[] layerCounts;
+    private int remaining = 0;
+
+    /* Build cursor, in section coordinates */
+    private final int minSecX, maxSecX, minSecY, maxSecY, minSecZ, maxSecZ;
+    private int buildSecX, buildSecY, buildSecZ;
+    private boolean ready = false;
+
+    /* Sections skipped because their chunk was not loaded, by SectionPos key */
+    private final LongOpenHashSet unloadedSections = new LongOpenHashSet();
+    private long lastRetryTick = Long.MIN_VALUE / 2;
+
+    public SiteMiningIndex(SiteBounds bounds) {
+        this.bounds = bounds;
+        this.wordsPerLayer = (bounds.layerArea() + 63) >>> 6;
+        this.bits = new long[wordsPerLayer * bounds.sizeY()];
+        this.layerCounts = new int[bounds.sizeY()];
+
+        this.minSecX = SectionPos.blockToSectionCoord(bounds.minX());
+        this.maxSecX = SectionPos.blockToSectionCoord(bounds.maxX());
+        this.minSecY = SectionPos.blockToSectionCoord(bounds.minY());
+        this.maxSecY = SectionPos.blockToSectionCoord(bounds.maxY());
+        this.minSecZ = SectionPos.blockToSectionCoord(bounds.minZ());
+        this.maxSecZ = SectionPos.blockToSectionCoord(bounds.maxZ());
+
+        this.buildSecX = minSecX;
+        this.buildSecY = minSecY;
+        this.buildSecZ = minSecZ;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Queries                                                      */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Whether the initial palette sweep has completed. Queries are
+     * meaningless before that; afterwards they cover the loaded sections,
+     * see {@link #isComplete()}.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Whether every section of the site has been indexed, including those that were unloaded. */
+    public boolean isComplete() {
+        return ready && unloadedSections.isEmpty();
+    }
+
+    public boolean hasRemaining() {
+        return remaining > 0;
+    }
+
+    public int getRemaining() {
+        return remaining;
+    }
+
+    public boolean hasRemainingInLayer(int y) {
+        if (y < bounds.minY() || y > bounds.maxY()) return false;
+        return layerCounts[y - bounds.minY()] > 0;
+    }
+
+    public boolean isMinable(int x, int y, int z) {
+        if (!bounds.contains(x, y, z)) return false;
+        int bit = bounds.columnIndex(x, z);
+        return (bits[wordOffset(y) + (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Returns the first column index {@code >= fromColumn} of layer {@code y}
+     * that still holds a minable block, or {@code -1} if there is none.
+     */
+    public int nextInLayer(int y, int fromColumn) {
+        if (!hasRemainingInLayer(y)) return -1;
+
+        int area = bounds.layerArea();
+        if (fromColumn >= area) return -1;
+
+        int base = wordOffset(y);
+        int word = fromColumn >>> 6;
+        long current = bits[base + word] & (-1L << fromColumn);
+
+        while (true) {
+            if (current != 0) {
+                int column = (word << 6) + Long.numberOfTrailingZeros(current);
+                return column < area ? column : -1;
+            }
+            if (++word >= wordsPerLayer) return -1;
+            current = bits[base + word];
+        }
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Construction                                                 */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Scans up to {@value #BUILD_SECTIONS_PER_STEP} chunk sections. Sections
+     * whose chunk is not loaded are set aside as unknown; once the sweep is
+     * done, the same call retries them instead.
+     *
+     * @return {@code false} if nothing could be indexed this time
+     */
+    public boolean advanceBuild(ServerLevel level) {
+        if (ready) return retryUnloaded(level);
+
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+
+        for (int processed = 0; processed < BUILD_SECTIONS_PER_STEP; processed++) {
+            LevelChunk chunk = level.getChunkSource().getChunkNow(buildSecX, buildSecZ);
+            if (chunk == null) {
+                unloadedSections.add(SectionPos.asLong(buildSecX, buildSecY, buildSecZ));
+            } else {
+                indexSection(level, chunk, cursor, buildSecX, buildSecY, buildSecZ);
+            }
+
+            if (++buildSecZ > maxSecZ) {
+                buildSecZ = minSecZ;
+                if (++buildSecX > maxSecX) {
+                    buildSecX = minSecX;
+                    if (++buildSecY > maxSecY) {
+                        ready = true;
+                        lastRetryTick = level.getGameTime();
+                        return true;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /** Indexes up to {@value #BUILD_SECTIONS_PER_STEP} unknown sections whose chunk is loaded now. */
+    private boolean retryUnloaded(ServerLevel level) {
+        if (unloadedSections.isEmpty()) return true;
+
+        long now = level.getGameTime();
+        if (now - lastRetryTick < UNLOADED_RETRY_TICKS) return false;
+        lastRetryTick = now;
+
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        int processed = 0;
+
+        LongIterator it = unloadedSections.iterator();
+        while (it.hasNext() && processed < BUILD_SECTIONS_PER_STEP) {
+            long key = it.nextLong();
+            int secX = SectionPos.x(key);
+            int secZ = SectionPos.z(key);
+
+            LevelChunk chunk = level.getChunkSource().getChunkNow(secX, secZ);
+            if (chunk == null) continue;
+
+            indexSection(level, chunk, cursor, secX, SectionPos.y(key), secZ);
+            it.remove();
+            processed++;
+        }
+
+        // More loaded sections may be waiting: come back on the next step
+        if (processed == BUILD_SECTIONS_PER_STEP) lastRetryTick = now - UNLOADED_RETRY_TICKS;
+        return processed > 0;
+    }
+
+    private void indexSection(ServerLevel level, LevelChunk chunk, BlockPos.MutableBlockPos cursor,
+                              int secX, int secY, int secZ) {
+        int index = chunk.getSectionIndexFromSectionY(secY);
+        if (index < 0 || index >= chunk.getSectionsCount()) return;
+
+        LevelChunkSection section = chunk.getSection(index);
+        if (section.hasOnlyAir()) return;
+        if (!section.getStates().maybeHas(
+                state -> DroneAiLogic.isMinable(EmptyBlockGetter.INSTANCE, BlockPos.ZERO, state))) {
+            return;
+        }
+
+        int x0 = Math.max(bounds.minX(), secX << 4);
+        int x1 = Math.min(bounds.maxX(), (secX << 4) + 15);
+        int y0 = Math.max(bounds.minY(), secY << 4);
+        int y1 = Math.min(bounds.maxY(), (secY << 4) + 15);
+        int z0 = Math.max(bounds.minZ(), secZ << 4);
+        int z1 = Math.min(bounds.maxZ(), (secZ << 4) + 15);
+
+        for (int y = y0; y <= y1; y++) {
+            for (int z = z0; z <= z1; z++) {
+                for (int x = x0; x <= x1; x++) {
+                    BlockState state = section.getBlockState(x & 15, y & 15, z & 15);
+                    cursor.set(x, y, z);
+                    setCell(x, y, z, DroneAiLogic.isMinable(level, cursor, state));
+                }
+            }
+        }
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Updates                                                      */
+    /* ------------------------------------------------------------ */
+
+    /** Re-evaluates a single cell after a block change reported by {@link SiteBlockTracker}. */
+    public void onBlockChanged(ServerLevel level, BlockPos pos, BlockState newState) {
+        if (!bounds.contains(pos)) return;
+        setCell(pos.getX(), pos.getY(), pos.getZ(), DroneAiLogic.isMinable(level, pos, newState));
+    }
+
+    private void setCell(int x, int y, int z, boolean minable) {
+        int bit = bounds.columnIndex(x, z);
+        int word = wordOffset(y) + (bit >>> 6);
+        long mask = 1L << bit;
+        boolean present = (bits[word] & mask) != 0;
+
+        if (present == minable) return;
+
+        if (minable) {
+            bits[word] |= mask;
+            layerCounts[y - bounds.minY()]++;
+            remaining++;
+        } else {
+            bits[word] &= ~mask;
+            layerCounts[y - bounds.minY()]--;
+            remaining--;
+        }
+    }
+
+    private int wordOffset(int y) {
+        return (y - bounds.minY()) * wordsPerLayer;
+    }
+}
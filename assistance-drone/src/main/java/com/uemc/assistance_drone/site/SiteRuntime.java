@@ -0,0 +1,280 @@
+package com.uemc.assistance_drone.site;
+
+import com.mojang.logging.LogUtils;
+import com.uemc.assistance_drone.entities.drone.ReachabilityCache;
+import com.uemc.assistance_drone.scheduler.DroneWorkScheduler;
+import com.uemc.assistance_drone.scheduler.WorkUnit;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import org.slf4j.Logger;
+
+/**
+ * Transient, server-side state derived from a single Site Planner selection.
+ * <p>
+ * One instance exists per level and bounds, shared by every drone working
+ * that site. It owns the derived data structures (mining index, shared
+ * reachability cache, navigation flow field, block leases, fluid change
+ * log, column heights, item index, ...) and keeps them current by listening to block changes through
+ * {@link SiteBlockTracker}. Instances are created and evicted by
+ * {@link SiteRuntimeCache}.
+ */
+public final class SiteRuntime implements SiteBlockTracker.Listener {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    /** Block changes this far outside the site still reach the runtime. */
+    static final int LISTEN_MARGIN = 1;
+
+    private final ServerLevel level;
+    private final SiteBounds bounds;
+    private final SiteMiningIndex miningIndex;
+    private final ReachabilityCache reachability = new ReachabilityCache();
+    private final SiteFlowField flowField;
+    private final SiteLeases leases = new SiteLeases();
+    private final SiteFluidSections fluidSections = new SiteFluidSections();
+    private final SiteColumnHeights columnHeights;
+    private final SiteItemIndex itemIndex;
+    private final WorkUnit indexBuild = new IndexBuildUnit();
+    private final WorkUnit flowFieldBuild = new FlowFieldBuildUnit();
+    private final WorkUnit itemMerge = new ItemMergeUnit();
+
+    private long lastAccessTick;
+    private boolean attached = false;
+    private boolean flowFieldQueued = false;
+    private boolean itemMergeQueued = false;
+
+    SiteRuntime(ServerLevel level, SiteBounds bounds) {
+        this.level = level;
+        this.bounds = bounds;
+        this.miningIndex = new SiteMiningIndex(bounds);
+        this.flowField = new SiteFlowField(bounds);
+        this.columnHeights = new SiteColumnHeights(bounds);
+        this.itemIndex = new SiteItemIndex(bounds);
+        this.lastAccessTick = level.getGameTime();
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Accessors                                                    */
+    /* ------------------------------------------------------------ */
+
+    public ServerLevel getLevel() {
+        return level;
+    }
+
+    public SiteBounds getBounds() {
+        return bounds;
+    }
+
+    public SiteMiningIndex getMiningIndex() {
+        touch();
+        return miningIndex;
+    }
+
+    /** Reachability answers shared by every drone working this site. */
+    public ReachabilityCache getReachability() {
+        touch();
+        return reachability;
+    }
+
+    /** Distances to the current working plane, shared by every drone of the site. */
+    public SiteFlowField getFlowField() {
+        touch();
+        return flowField;
+    }
+
+    /** Block leases and participants of the drones sharing this site. */
+    public SiteLeases getLeases() {
+        touch();
+        return leases;
+    }
+
+    /** Sections whose fluids changed, for incremental fluid scans. */
+    public SiteFluidSections getFluidSections() {
+        touch();
+        return fluidSections;
+    }
+
+    /** First obstruction of each column from the start layer, replacing vertical ray traces. */
+    public SiteColumnHeights getColumnHeights() {
+        touch();
+        return columnHeights;
+    }
+
+    /** Item entities lying in the site, bucketed by section for nearby lookups. */
+    public SiteItemIndex getItemIndex() {
+        touch();
+        return itemIndex;
+    }
+
+    /** Whether the runtime is still registered; detached runtimes must be re-resolved. */
+    public boolean isAttached() {
+        return attached;
+    }
+
+    /** Marks the runtime as in use so it is not evicted. */
+    public void touch() {
+        lastAccessTick = level.getGameTime();
+    }
+
+    /** Item index without touching the runtime; entity events must not keep it alive. */
+    SiteItemIndex itemIndex() {
+        return itemIndex;
+    }
+
+    /** Indexes an item that joined the level and queues a merge pass once enough have piled up. */
+    void onItemJoined(ItemEntity item) {
+        if (!itemIndex.add(item) || itemMergeQueued || !itemIndex.wantsMerge()) return;
+
+        itemIndex.startMerge();
+        itemMergeQueued = true;
+        DroneWorkScheduler.submit(this, itemMerge);
+    }
+
+    long getLastAccessTick() {
+        return lastAccessTick;
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Lifecycle                                                    */
+    /* ------------------------------------------------------------ */
+
+    void attach() {
+        SiteBlockTracker.register(level, bounds, LISTEN_MARGIN, this);
+        attached = true;
+
+        if (!miningIndex.isComplete()) {
+            DroneWorkScheduler.submit(this, indexBuild);
+        }
+    }
+
+    void detach() {
+        SiteBlockTracker.unregister(level, bounds, LISTEN_MARGIN, this);
+        attached = false;
+
+        LOGGER.debug("Released site {} -> {}: reachability {} hits / {} misses ({} entries)",
+                bounds.start(), bounds.end(),
+                reachability.getHits(), reachability.getMisses(), reachability.size());
+    }
+
+    @Override
+    public void onBlockChanged(ServerLevel level, BlockPos pos, BlockState oldState, BlockState newState) {
+        miningIndex.onBlockChanged(level, pos, newState);
+        if (!miningIndex.isMinable(pos.getX(), pos.getY(), pos.getZ())) {
+            leases.onCellCleared(pos);
+        }
+
+        if (oldState.blocksMotion() != newState.blocksMotion()) {
+            reachability.invalidate(pos);
+        }
+
+        fluidSections.onBlockChanged(pos, oldState, newState);
+        columnHeights.onBlockChanged(level, pos, newState);
+
+        flowField.onBlockChanged(level, pos, newState);
+        if (flowField.isStale() || isWorkLayerExhausted()) {
+            scheduleFlowField();
+        } else {
+            // Freed cells may have left relaxation work for the budgeted unit
+            queueFlowFieldBuild();
+        }
+    }
+
+    private boolean isWorkLayerExhausted() {
+        int layer = flowField.getWorkLayer();
+        return layer != SiteFlowField.NO_LAYER
+                && miningIndex.isReady()
+                && !miningIndex.hasRemainingInLayer(layer);
+    }
+
+    /**
+     * Points the flow field at the first layer, in traversal order, that
+     * still holds minable blocks and queues the rebuild.
+     */
+    private void scheduleFlowField() {
+        if (!flowField.isAvailable()) return;
+
+        flowField.rebuild(findWorkLayer());
+        queueFlowFieldBuild();
+    }
+
+    private void queueFlowFieldBuild() {
+        if (!flowFieldQueued && flowField.isBuilding()) {
+            flowFieldQueued = true;
+            DroneWorkScheduler.submit(this, flowFieldBuild);
+        }
+    }
+
+    private int findWorkLayer() {
+        int startY = bounds.start().getY();
+        int endY = bounds.end().getY();
+        int step = endY > startY ? 1 : -1;
+
+        for (int y = startY; ; y += step) {
+            if (miningIndex.hasRemainingInLayer(y)) return y;
+            if (y == endY) return SiteFlowField.NO_LAYER;
+        }
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Scheduled work                                               */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Builds the mining index a few sections per step, then keeps retrying
+     * the sections that were unloaded until every one is indexed.
+     */
+    private class IndexBuildUnit implements WorkUnit {
+        @Override
+        public Result step() {
+            boolean wasReady = miningIndex.isReady();
+            boolean progressed = miningIndex.advanceBuild(level);
+
+            // Newly indexed sections may hold blocks above the current work layer
+            if (miningIndex.isReady() && (!wasReady || progressed)) scheduleFlowField();
+
+            if (miningIndex.isComplete()) return Result.DONE;
+            if (!miningIndex.isReady()) return Result.MORE;
+            return progressed ? Result.MORE : Result.WAIT;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return !attached;
+        }
+    }
+
+    /** Merges matching item stacks of the site one cell per step. */
+    private class ItemMergeUnit implements WorkUnit {
+        @Override
+        public Result step() {
+            if (!itemIndex.advanceMerge(1)) return Result.MORE;
+
+            itemMergeQueued = false;
+            return Result.DONE;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return !attached;
+        }
+    }
+
+    /** Scans occupancy and propagates flow-field distances in budgeted steps. */
+    private class FlowFieldBuildUnit implements WorkUnit {
+        @Override
+        public Result step() {
+            if (!flowField.advanceBuild(level)) return Result.WAIT;
+            if (flowField.isBuilding()) return Result.MORE;
+
+            flowFieldQueued = false;
+            return Result.DONE;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return !attached;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.uemc.assistance_drone.site;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.item.ItemEntity;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Per-level registry of {@link SiteRuntime} instances keyed by {@link SiteBounds}.
+ * <p>
+ * Drones sharing the same Site Planner selection resolve to the same runtime.
+ * Runtimes that nobody touched for {@value #IDLE_EVICTION_TICKS} ticks are
+ * detached and dropped; the whole level is cleared when it unloads.
+ * Server thread only.
+ */
+public final class SiteRuntimeCache {
+
+    private SiteRuntimeCache() {}
+
+    private static final long IDLE_EVICTION_TICKS = 1200L;
+    private static final int EVICTION_INTERVAL_TICKS = 200;
+
+    private static final Map<ServerLevel, Map<SiteBounds, SiteRuntime>> RUNTIMES = new IdentityHashMap<>();
+
+    /**
+     * Returns the runtime for {@code bounds}, creating and attaching it if needed.
+     */
+    public static SiteRuntime get(ServerLevel level, SiteBounds bounds) {
+        Map<SiteBounds, SiteRuntime> sites = RUNTIMES.computeIfAbsent(level, l -> new HashMap<>());
+
+        SiteRuntime runtime = sites.get(bounds);
+        if (runtime == null) {
+            runtime = new SiteRuntime(level, bounds);
+            runtime.attach();
+            sites.put(bounds, runtime);
+        }
+
+        runtime.touch();
+        return runtime;
+    }
+
+    /** Runtimes currently attached in {@code level}, for diagnostics. */
+    public static Collection<SiteRuntime> getRuntimes(ServerLevel level) {
+        Map<SiteBounds, SiteRuntime> sites = RUNTIMES.get(level);
+        return sites == null ? Collections.emptyList() : Collections.unmodifiableCollection(sites.values());
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Item entities                                                */
+    /* ------------------------------------------------------------ */
+
+    /** Adds an item entity that joined {@code level} to the item index of every site it lies in; see {@link SiteRuntime#onItemJoined}. */
+    public static void onItemJoined(ServerLevel level, ItemEntity item) {
+        Map<SiteBounds, SiteRuntime> sites = RUNTIMES.get(level);
+        if (sites == null) return;
+
+        for (SiteRuntime runtime : sites.values()) {
+            runtime.onItemJoined(item);
+        }
+    }
+
+    /** Drops an item entity that left {@code level} from every site item index. */
+    public static void onItemLeft(ServerLevel level, ItemEntity item) {
+        Map<SiteBounds, SiteRuntime> sites = RUNTIMES.get(level);
+        if (sites == null) return;
+
+        for (SiteRuntime runtime : sites.values()) {
+            runtime.itemIndex().remove(item);
+        }
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Lifecycle                                                    */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Evicts idle runtimes. Their background work runs through the
+     * {@link com.uemc.assistance_drone.scheduler.DroneWorkScheduler}.
+     */
+    public static void tick(MinecraftServer server) {
+        if (RUNTIMES.isEmpty()) return;
+        if (server.getTickCount() % EVICTION_INTERVAL_TICKS != 0) return;
+
+        for (Map<SiteBounds, SiteRuntime> sites : RUNTIMES.values()) {
+            Iterator<SiteRuntime> it = sites.values().iterator();
+            while (it.hasNext()) {
+                SiteRuntime runtime = it.next();
+
+                if (runtime.getLevel().getGameTime() - runtime.getLastAccessTick() > IDLE_EVICTION_TICKS) {
+                    runtime.detach();
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    public static void clear(ServerLevel level) {
+        Map<SiteBounds, SiteRuntime> sites = RUNTIMES.remove(level);
+        if (sites != null) {
+            sites.values().forEach(SiteRuntime::detach);
+        }
+        SiteBlockTracker.clear(level);
+    }
+}
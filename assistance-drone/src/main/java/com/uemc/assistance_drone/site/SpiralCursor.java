@@ -0,0 +1,120 @@
+package com.uemc.assistance_drone.site;
+
+import net.minecraft.core.BlockPos;
+
+/**
+ * Closed-form rectangular spiral over the columns of a site layer.
+ * <p>
+ * The spiral starts at the corner marked as the Site Planner start and turns
+ * clockwise inwards, exactly like the former queue-based traversal, but the
+ * n-th coordinate is computed arithmetically. Nothing is materialised per
+ * layer, and a traversal can be resumed from any index after a reload.
+ * <p>
+ * Internally the layer is described in a local frame where {@code u} runs
+ * along the first leg and {@code v} along the second; the corner orientation
+ * only changes how {@code (u, v)} maps back to world {@code (x, z)}.
+ */
+public final class SpiralCursor {
+
+    private final int width;   // extent along u
+    private final int height;  // extent along v
+    private final int size;
+    private final int innermostRing;
+
+    private final int originX;
+    private final int originZ;
+    private final int orientation;
+
+    public SpiralCursor(SiteBounds bounds) {
+        int startX = bounds.start().getX();
+        int startZ = bounds.start().getZ();
+
+        if (startX == bounds.minX() && startZ == bounds.minZ()) {
+            orientation = 0;
+            originX = bounds.minX();
+            originZ = bounds.minZ();
+        } else if (startX == bounds.maxX() && startZ == bounds.minZ()) {
+            orientation = 1;
+            originX = bounds.maxX();
+            originZ = bounds.minZ();
+        } else if (startX == bounds.maxX() && startZ == bounds.maxZ()) {
+            orientation = 2;
+            originX = bounds.maxX();
+            originZ = bounds.maxZ();
+        } else {
+            orientation = 3;
+            originX = bounds.minX();
+            originZ = bounds.maxZ();
+        }
+
+        boolean alongX = orientation == 0 || orientation == 2;
+        this.width = alongX ? bounds.sizeX() : bounds.sizeZ();
+        this.height = alongX ? bounds.sizeZ() : bounds.sizeX();
+        this.size = width * height;
+        this.innermostRing = (Math.min(width, height) - 1) / 2;
+    }
+
+    /** Number of cells in one full spiral. */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Writes the world position of spiral index {@code n} on layer {@code y}
+     * into {@code out}.
+     */
+    public BlockPos.MutableBlockPos positionAt(int n, int y, BlockPos.MutableBlockPos out) {
+        int ring = ringOf(n);
+        int offset = n - cellsBeforeRing(ring);
+        int ringWidth = width - 2 * ring;
+        int ringHeight = height - 2 * ring;
+
+        int u, v;
+        if (offset < ringWidth) {
+            u = ring + offset;
+            v = ring;
+        } else if ((offset -= ringWidth) < ringHeight - 1) {
+            u = width - 1 - ring;
+            v = ring + 1 + offset;
+        } else if ((offset -= ringHeight - 1) < ringWidth - 1) {
+            u = width - 2 - ring - offset;
+            v = height - 1 - ring;
+        } else {
+            offset -= ringWidth - 1;
+            u = ring;
+            v = height - 2 - ring - offset;
+        }
+
+        return switch (orientation) {
+            case 0 -> out.set(originX + u, y, originZ + v);
+            case 1 -> out.set(originX - v, y, originZ + u);
+            case 2 -> out.set(originX - u, y, originZ - v);
+            default -> out.set(originX + v, y, originZ - u);
+        };
+    }
+
+    /* ------------------------------------------------------------ */
+    /* Ring arithmetic                                              */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Cells contained in rings {@code 0..ring-1}. Every ring before the
+     * innermost one is a full perimeter of {@code 2(w + h) - 8k - 4} cells,
+     * which sums to {@code 2k(w + h - 2k)}.
+     */
+    private int cellsBeforeRing(int ring) {
+        return 2 * ring * (width + height - 2 * ring);
+    }
+
+    /** Largest ring {@code k} with {@code cellsBeforeRing(k) <= n}. */
+    private int ringOf(int n) {
+        double sum = width + height;
+        int ring = (int) ((sum - Math.sqrt(sum * sum - 4.0 * n)) / 4.0);
+        ring = Math.max(0, Math.min(ring, innermostRing));
+
+        // Correct floating point rounding at ring boundaries
+        while (ring < innermostRing && cellsBeforeRing(ring + 1) <= n) ring++;
+        while (ring > 0 && cellsBeforeRing(ring) > n) ring--;
+        return ring;
+    }
+}
@@ -16,6 +16,7 @@ public class ModKeys {
     public static final String SITE_PLANNER_START_POS_KEY = "start_pos";
     public static final String SITE_PLANNER_END_MARKER_MODEL_PATH = "block/end_marker";
     public static final String SITE_PLANNER_END_POS_KEY = "end_pos";
+    public static final String SITE_PLANNER_SITE_ID_KEY = "site_id";
     public static final String STATE_NETWORK_MESSAGE_PATH = "state_network_message";
 
     // ====================
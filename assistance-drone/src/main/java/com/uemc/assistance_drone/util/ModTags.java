@@ -0,0 +1,36 @@
+package com.uemc.assistance_drone.util;
+
+import com.uemc.assistance_drone.AssistanceDrone;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.block.Block;
+
+/**
+ * Block tag keys defined by the mod.
+ *
+ * <p>Tag JSON files live under {@code data/assistance_drone/tags/block/}.
+ * Modpack authors can extend any of them via a datapack.</p>
+ */
+public final class ModTags {
+
+    private ModTags() {}
+
+    /*
+     * Tool class overrides for drone mining. A block listed in one of these
+     * tags is always mined with that tool, regardless of the vanilla
+     * mineable tags, which lets modded blocks that do not declare a tool
+     * class still be mined at full speed.
+     */
+    public static final TagKey<Block> DRONE_PICKAXE = create("drone_tools/pickaxe");
+    public static final TagKey<Block> DRONE_AXE = create("drone_tools/axe");
+    public static final TagKey<Block> DRONE_SHOVEL = create("drone_tools/shovel");
+    public static final TagKey<Block> DRONE_HOE = create("drone_tools/hoe");
+
+    private static TagKey<Block> create(String path) {
+        return TagKey.create(
+                Registries.BLOCK,
+                ResourceLocation.fromNamespaceAndPath(AssistanceDrone.MODID, path)
+        );
+    }
+}
@@ -2,10 +2,12 @@ package com.uemc.assistance_drone.util;
 
 import com.uemc.assistance_drone.AssistanceDrone;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.UUIDUtil;
 import net.minecraft.core.component.DataComponentType;
 import net.minecraft.core.registries.Registries;
 import net.neoforged.neoforge.registries.DeferredRegister;
 
+import java.util.UUID;
 import java.util.function.Supplier;
 
 public class SiteMarkersRegister {
@@ -28,4 +30,14 @@ public class SiteMarkersRegister {
                             .networkSynchronized(BlockPos.STREAM_CODEC)
                             .build()
             );
+
+    /** Identifies the site job a planner belongs to; see {@code SiteJobRegistry}. */
+    public static final Supplier<DataComponentType<UUID>> SITE_ID =
+            DATA_COMPONENTS.register(
+                    ModKeys.SITE_PLANNER_SITE_ID_KEY,
+                    () -> DataComponentType.<UUID>builder()
+                            .persistent(UUIDUtil.CODEC)
+                            .networkSynchronized(UUIDUtil.STREAM_CODEC)
+                            .build()
+            );
 }
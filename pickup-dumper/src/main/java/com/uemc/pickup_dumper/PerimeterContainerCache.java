@@ -1,9 +1,11 @@
 package com.uemc.pickup_dumper;
 
 import com.uemc.assistance_drone.items.SitePlanner;
+import com.uemc.assistance_drone.scheduler.DroneWorkScheduler;
+import com.uemc.assistance_drone.scheduler.WorkUnit;
+import com.uemc.assistance_drone.site.SiteJob;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
-import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.neoforged.neoforge.capabilities.Capabilities;
@@ -27,22 +29,34 @@ import java.util.Objects;
  * </ol>
  *
  * <h2>Performance model</h2>
- * The perimeter scan is distributed across multiple ticks via an internal
- * cursor, consuming at most {@value #SCAN_BLOCKS_PER_TICK} positions per tick.
- * A per-tick guard ensures the cursor never advances more than once per game
- * tick regardless of how many call-sites invoke {@link #tick}.
+ * The perimeter scan runs as a {@link WorkUnit} on the
+ * {@link DroneWorkScheduler}, consuming at most {@value #SCAN_BLOCKS_PER_STEP}
+ * positions per step, so it shares the global per-tick work budget with the
+ * other drone scans. {@link #tick} only keeps the scan state machine up to
+ * date and submits the unit; a per-tick guard makes repeated calls within the
+ * same game tick free. If nobody calls {@link #tick} for
+ * {@value #ABANDON_AFTER_TICKS} ticks the pending scan is dropped.
  * Once a full scan completes, results are reused for {@value #RESCAN_INTERVAL_TICKS}
- * ticks before the next scan is scheduled.
+ * ticks before the next scan is scheduled; until a rescan finishes the
+ * previous results stay in use.
+ *
+ * <h2>Sharing</h2>
+ * Completed scans are stored in the {@link SiteJob}, which is persisted with
+ * the level. A cache that starts on a site, or restarts after a reload, adopts
+ * the job's list instead of waiting for its own scan, and evictions are
+ * written back so other drones of the site skip dead containers too.
  *
  * <h2>Thread safety</h2>
  * This class is designed for single-threaded server-tick use only.
  */
 public final class PerimeterContainerCache {
 
-    private static final int  SCAN_BLOCKS_PER_TICK   = 64;
+    private static final int  SCAN_BLOCKS_PER_STEP   = 64;
     private static final long RESCAN_INTERVAL_TICKS   = 300L;
+    private static final long ABANDON_AFTER_TICKS     = 100L;
 
     private final List<BlockPos> validContainers    = new ArrayList<>();
+    private final List<BlockPos> scanResults        = new ArrayList<>();
     private List<BlockPos>       pendingPositions   = null;
     private int                  scanCursor         = 0;
     private boolean              scanComplete       = true;
@@ -50,41 +64,49 @@ public final class PerimeterContainerCache {
     private long                 lastTickProcessed  = Long.MIN_VALUE;
     private BlockPos             lastKnownStart     = null;
     private BlockPos             lastKnownEnd       = null;
+    private Level                scanLevel          = null;
+    private SiteJob              job                = null;
+    private boolean              scanScheduled      = false;
+    private final WorkUnit       scanUnit           = new ScanUnit();
 
     // ----------------------------------------------------------------
     // Public API
     // ----------------------------------------------------------------
 
     /**
-     * Advances the scan state machine by at most {@value #SCAN_BLOCKS_PER_TICK}
-     * positions. Must be called once per game tick from the owning goal.
+     * Updates the scan state machine and, while a scan is pending, makes sure
+     * it is queued on the work scheduler. Must be called every game tick from
+     * the owning goal.
      *
      * <p>An internal guard prevents redundant processing if this method is
      * called multiple times within the same game tick.
      *
      * @param level   the server-side level
-     * @param planner the configured {@link SitePlanner} item stack
+     * @param siteJob the job of the drone's {@link SitePlanner}
+     * @param owner   scheduling key, see {@link DroneWorkScheduler#submit}
      */
-    public void tick(Level level, ItemStack planner) {
-        if (level.isClientSide() || !SitePlanner.isConfigured(planner)) return;
+    public void tick(Level level, SiteJob siteJob, Object owner) {
+        if (level.isClientSide()) return;
 
         long now = level.getGameTime();
         if (now == lastTickProcessed) return;
         lastTickProcessed = now;
 
-        BlockPos start = SitePlanner.getStartPos(planner);
-        BlockPos end   = SitePlanner.getEndPos(planner);
+        BlockPos start = siteJob.getBounds().start();
+        BlockPos end   = siteJob.getBounds().end();
 
-        if (!Objects.equals(start, lastKnownStart) || !Objects.equals(end, lastKnownEnd)) {
-            invalidate(start, end);
+        if (siteJob != job || !Objects.equals(start, lastKnownStart) || !Objects.equals(end, lastKnownEnd)) {
+            invalidate(siteJob, start, end);
         }
 
         if (scanComplete && now >= nextRescanAt) {
             scheduleScan(start, end);
         }
 
-        if (!scanComplete && pendingPositions != null) {
-            advanceScan(level, now);
+        if (!scanComplete && pendingPositions != null && !scanScheduled) {
+            scanLevel     = level;
+            scanScheduled = true;
+            DroneWorkScheduler.submit(owner, scanUnit);
         }
     }
 
@@ -113,6 +135,7 @@ public final class PerimeterContainerCache {
      */
     public void evict(BlockPos pos) {
         validContainers.remove(pos);
+        if (job != null) job.removeContainer(pos);
     }
 
     /**
@@ -121,7 +144,9 @@ public final class PerimeterContainerCache {
      */
     public void reset() {
         validContainers.clear();
+        scanResults.clear();
         pendingPositions  = null;
+        job               = null;
         scanComplete      = false;
         nextRescanAt      = 0L;
         lastKnownStart    = null;
@@ -148,35 +173,51 @@ public final class PerimeterContainerCache {
     // Internal scan logic
     // ----------------------------------------------------------------
 
-    private void invalidate(BlockPos start, BlockPos end) {
+    private void invalidate(SiteJob siteJob, BlockPos start, BlockPos end) {
+        job            = siteJob;
         lastKnownStart = start;
         lastKnownEnd   = end;
         validContainers.clear();
         pendingPositions = null;
-        scanComplete     = false;
-        nextRescanAt     = 0L;
+
+        long scannedAt = siteJob.getContainersScannedAt();
+        if (scannedAt >= 0L) {
+            // Another drone, or this one before a reload, already scanned the site
+            validContainers.addAll(siteJob.getContainers());
+            scanComplete = true;
+            nextRescanAt = scannedAt + RESCAN_INTERVAL_TICKS;
+            return;
+        }
+
+        scanComplete = false;
+        nextRescanAt = 0L;
         scheduleScan(start, end);
     }
 
     private void scheduleScan(BlockPos start, BlockPos end) {
-        validContainers.clear();
+        scanResults.clear();
         pendingPositions = buildPerimeter(start, end);
         scanCursor   = 0;
         scanComplete = false;
     }
 
     private void advanceScan(Level level, long now) {
-        int limit = Math.min(scanCursor + SCAN_BLOCKS_PER_TICK, pendingPositions.size());
+        int limit = Math.min(scanCursor + SCAN_BLOCKS_PER_STEP, pendingPositions.size());
 
         for (int i = scanCursor; i < limit; i++) {
             BlockPos pos = pendingPositions.get(i);
             if (!level.isLoaded(pos)) continue;
-            if (isValidContainer(level, pos)) validContainers.add(pos);
+            if (isValidContainer(level, pos)) scanResults.add(pos);
         }
 
         scanCursor = limit;
 
         if (scanCursor >= pendingPositions.size()) {
+            validContainers.clear();
+            validContainers.addAll(scanResults);
+            scanResults.clear();
+            if (job != null) job.setContainers(validContainers, now);
+
             scanComplete     = true;
             nextRescanAt     = now + RESCAN_INTERVAL_TICKS;
             pendingPositions = null;
@@ -204,8 +245,8 @@ public final class PerimeterContainerCache {
      * (outer AABB inflated by 1, minus the inner AABB).
      *
      * <p>For the maximum selection size of 48×48×48 this produces at most
-     * ~14 400 positions, requiring ~225 ticks to scan completely at
-     * {@value #SCAN_BLOCKS_PER_TICK} positions/tick (~11 s at 20 TPS).
+     * ~14 400 positions, or ~225 scheduler steps of
+     * {@value #SCAN_BLOCKS_PER_STEP} positions each.
      */
     private static List<BlockPos> buildPerimeter(BlockPos start, BlockPos end) {
         int inMinX = Math.min(start.getX(), end.getX());
@@ -230,4 +271,30 @@ public final class PerimeterContainerCache {
 
         return positions;
     }
+
+    // ----------------------------------------------------------------
+    // Scheduled work
+    // ----------------------------------------------------------------
+
+    /** Advances the perimeter scan by one slice per scheduler step. */
+    private final class ScanUnit implements WorkUnit {
+        @Override
+        public Result step() {
+            long now = scanLevel.getGameTime();
+
+            if (scanComplete || pendingPositions == null
+                    || now - lastTickProcessed > ABANDON_AFTER_TICKS) {
+                scanScheduled = false;
+                return Result.DONE;
+            }
+
+            advanceScan(scanLevel, now);
+
+            if (scanComplete) {
+                scanScheduled = false;
+                return Result.DONE;
+            }
+            return Result.MORE;
+        }
+    }
 }
@@ -1,16 +1,17 @@
 package com.uemc.pickup_dumper.mixin;
 
+import com.uemc.assistance_drone.Config;
 import com.uemc.pickup_dumper.PerimeterContainerCache;
 import com.uemc.assistance_drone.entities.drone.DroneEntity;
+import com.uemc.assistance_drone.entities.drone.DroneInventory;
 import com.uemc.assistance_drone.entities.drone.goals.DronePickupGoal;
-import com.uemc.assistance_drone.items.SitePlanner;
+import com.uemc.assistance_drone.site.SiteJob;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.phys.Vec3;
 import net.neoforged.neoforge.items.IItemHandler;
 import net.neoforged.neoforge.items.ItemHandlerHelper;
-import net.neoforged.neoforge.items.ItemStackHandler;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
@@ -33,7 +34,8 @@ import java.util.function.Predicate;
  *       if the perimeter cache knows at least one reachable container.</li>
  *   <li>Each {@code tick} navigates to the nearest accessible container and
  *       calls {@link #ad$depositItems()}, preserving {@value #AD$MIN_OCCUPIED_SLOTS}
- *       occupied slots to retain blocks needed by other goals.</li>
+ *       occupied slots and the configured sealant reserve
+ *       ({@link Config#getSealantReserve()}) for the fluid goal.</li>
  *   <li>When the drone has freed enough slots, dump mode exits and the goal
  *       resumes normal pickup behaviour.</li>
  * </ol>
@@ -62,7 +64,7 @@ import java.util.function.Predicate;
  *
  * <h2>Performance contract</h2>
  * All perimeter scanning is delegated to {@link PerimeterContainerCache}, which
- * processes at most 64 block positions per game tick via an amortised cursor.
+ * runs it in 64-position slices on the drone work scheduler's per-tick budget.
  * No heavy loops execute inside the injected methods themselves.
  */
 @Mixin(value = DronePickupGoal.class, remap = false)
@@ -261,7 +263,8 @@ public abstract class DronePickupGoalMixin {
     /**
      * Transfers items from the drone's storage slots (indices 1–12) into the
      * current dump target container, preserving at least
-     * {@value #AD$MIN_OCCUPIED_SLOTS} occupied slots.
+     * {@value #AD$MIN_OCCUPIED_SLOTS} occupied slots and never taking the
+     * sealant count below the configured reserve.
      *
      * <h3>Transfer protocol (atomic-safe)</h3>
      * <ol>
@@ -287,19 +290,21 @@ public abstract class DronePickupGoalMixin {
             return;
         }
 
-        ItemStackHandler droneInv   = drone.getInventory();
+        DroneInventory   droneInv   = drone.getInventory();
         int              totalSlots = droneInv.getSlots();
         int              occupied   = ad$countOccupiedSlots();
+        int              reserve    = Config.getSealantReserve();
 
         for (int i = totalSlots - 1; i >= 1; i--) {
             if (occupied <= AD$MIN_OCCUPIED_SLOTS) break;
 
             ItemStack stack = droneInv.getStackInSlot(i);
-            if (stack.isEmpty()) continue;
+            int removable = droneInv.countRemovable(i, reserve);
+            if (removable <= 0) continue;
 
             // Step 1 — simulate
-            ItemStack simRemainder = ItemHandlerHelper.insertItemStacked(container, stack.copy(), true);
-            int canInsert = stack.getCount() - simRemainder.getCount();
+            ItemStack simRemainder = ItemHandlerHelper.insertItemStacked(container, stack.copyWithCount(removable), true);
+            int canInsert = removable - simRemainder.getCount();
 
             if (canInsert <= 0) {
                 ad$containerFull = true;
@@ -314,7 +319,7 @@ public abstract class DronePickupGoalMixin {
 
             // Step 4 — recover any rejected items
             if (!rejected.isEmpty()) {
-                ItemStack stillRejected = ItemHandlerHelper.insertItemStacked(droneInv, rejected, false);
+                ItemStack stillRejected = droneInv.insertStacked(rejected, false);
                 if (!stillRejected.isEmpty()) {
                     Block.popResource(drone.level(), drone.blockPosition(), stillRejected);
                 }
@@ -342,30 +347,39 @@ public abstract class DronePickupGoalMixin {
     @Unique
     private void ad$advanceCache() {
         if (drone == null || drone.level().isClientSide()) return;
-        ItemStack planner = drone.getInventory().getStackInSlot(0);
-        if (SitePlanner.isConfigured(planner)) {
-            ad$cache.tick(drone.level(), planner);
+        SiteJob job = drone.getLogic().getSiteJob();
+        if (job != null) {
+            ad$cache.tick(drone.level(), job, drone.getWorkOwner());
         }
     }
 
     /**
      * Returns {@code true} if there are more occupied storage slots than the
-     * protected minimum and the cache has containers available.
+     * protected minimum, something outside the sealant reserve can leave and
+     * the cache has containers available.
      */
     @Unique
     private boolean ad$dumpingRequired() {
-        return ad$cache.hasValidContainers() && ad$countOccupiedSlots() > AD$MIN_OCCUPIED_SLOTS;
+        return ad$cache.hasValidContainers()
+                && ad$countOccupiedSlots() > AD$MIN_OCCUPIED_SLOTS
+                && ad$hasRemovableItems();
+    }
+
+    /** Whether any storage slot holds items the sealant reserve does not protect. */
+    @Unique
+    private boolean ad$hasRemovableItems() {
+        DroneInventory droneInv = drone.getInventory();
+        int reserve = Config.getSealantReserve();
+        for (int i = 1; i < droneInv.getSlots(); i++) {
+            if (droneInv.countRemovable(i, reserve) > 0) return true;
+        }
+        return false;
     }
 
     /** Counts occupied storage slots (indices 1 through {@code slots - 1}). */
     @Unique
     private int ad$countOccupiedSlots() {
-        ItemStackHandler inv   = drone.getInventory();
-        int              count = 0;
-        for (int i = 1; i < inv.getSlots(); i++) {
-            if (!inv.getStackInSlot(i).isEmpty()) count++;
-        }
-        return count;
+        return drone.getInventory().countOccupied(1);
     }
 
     /** Returns {@code true} if the current target's {@code BlockEntity} still exists. */